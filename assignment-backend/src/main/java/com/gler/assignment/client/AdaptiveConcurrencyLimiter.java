@@ -0,0 +1,225 @@
+package com.gler.assignment.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps in-flight calls at a limit that follows the observed round-trip time. Successful calls
+ * feed a gradient: while the latest RTT stays close to the long-term average the limit grows
+ * by about {@code sqrt(limit)}. When the RTT rises above it, the limit shrinks in proportion.
+ * Failed calls cut the limit multiplicatively. The limit never leaves
+ * {@code [minLimit, maxLimit]}.
+ */
+public final class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final Duration maxWait;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    private double limit;
+    private double longRttNanos;
+    private int inflight;
+
+    public AdaptiveConcurrencyLimiter(
+            String name,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double smoothing,
+            Duration maxWait) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit)
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        if (smoothing <= 0 || smoothing > 1)
+            throw new IllegalArgumentException("Concurrency limit smoothing must be in (0, 1]");
+        if (maxWait.isNegative())
+            throw new IllegalArgumentException("Concurrency limit wait must not be negative");
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.maxWait = maxWait;
+        this.limit = initialLimit;
+    }
+
+    public static AdaptiveConcurrencyLimiter ofDefaults(String name) {
+        return new AdaptiveConcurrencyLimiter(name, 10, 2, 20, 0.2, Duration.ZERO);
+    }
+
+    /**
+     * Takes a permit, waiting up to the configured {@code maxWait} for one to free up.
+     */
+    public Optional<Permit> tryAcquire() {
+        return tryAcquire(maxWait);
+    }
+
+    /**
+     * Takes a permit, waiting up to {@code maxWait} for one to free up. Returns empty if the limit
+     * is still reached after that.
+     */
+    public Optional<Permit> tryAcquire(Duration maxWait) {
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            while (inflight >= currentLimit()) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return Optional.empty();
+                }
+                remaining = permitReleased.awaitNanos(remaining);
+            }
+            inflight++;
+            return Optional.of(new Permit(System.nanoTime(), inflight));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("openmeteo.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("openmeteo.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Calls holding a concurrency permit")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("openmeteo.concurrency.rejected", rejected, LongAdder::sum)
+                .description("Calls shed because the concurrency limit was reached")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    // Package-private so tests can drive the limit with exact RTTs.
+    void onSample(long rttNanos, int inflightAtStart) {
+        rttNanos = Math.max(1, rttNanos);
+        lock.lock();
+        try {
+            if (longRttNanos == 0)
+                longRttNanos = rttNanos;
+            else
+                longRttNanos += (rttNanos - longRttNanos) * 2.0 / (LONG_WINDOW + 1);
+            // After a latency spike the average lags behind; let it catch up with the recovery.
+            if (longRttNanos / rttNanos > 2)
+                longRttNanos *= 0.95;
+            // An underused limit says nothing about what the upstream can take.
+            if (inflightAtStart < limit / 2)
+                return;
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+            double target = limit * gradient + Math.sqrt(limit);
+            setLimit(limit * (1 - smoothing) + target * smoothing);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onDropped() {
+        lock.lock();
+        try {
+            setLimit(limit * BACKOFF_RATIO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        permitReleased.signalAll();
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void releasePermit() {
+        lock.lock();
+        try {
+            inflight--;
+            permitReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One in-flight call. The first of {@link #success()}, {@link #dropped()} or
+     * {@link #release()} frees the permit; later calls do nothing.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inflightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inflightAtStart) {
+            this.startNanos = startNanos;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        /** The call completed; its RTT feeds the limit. */
+        public void success() {
+            if (released.compareAndSet(false, true)) {
+                releasePermit();
+                onSample(System.nanoTime() - startNanos, inflightAtStart);
+            }
+        }
+
+        /** The call failed or timed out; the limit backs off. */
+        public void dropped() {
+            if (released.compareAndSet(false, true)) {
+                releasePermit();
+                onDropped();
+            }
+        }
+
+        /** The call never reached the upstream; the limit is left as it is. */
+        public void release() {
+            if (released.compareAndSet(false, true))
+                releasePermit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gler.assignment.client;
+
+public enum ForecastCacheMode {
+
+    /**
+     * Once an entry's TTL elapses the next request waits for the upstream call. If that call fails,
+     * the entry is served stale for up to {@code openmeteo.cache.max-stale}.
+     */
+    EXPIRE,
+
+    /**
+     * Entries are refreshed in the background before they expire and, if the upstream is down,
+     * keep being served stale for up to {@code openmeteo.cache.max-stale}.
+     */
+    REFRESH_AHEAD
+}
@@ -0,0 +1,247 @@
+package com.gler.assignment.client;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches Open-Meteo responses in front of {@link OpenMeteoClient}, one entry per {@link GridCell}.
+ * Misses are loaded through {@link ForecastFetchBatcher}, so cold cells requested together share
+ * one multi-location upstream call.
+ * The cache is bounded by {@code maximumSize} and evicts with Caffeine's W-TinyLFU policy, so
+ * frequently requested locations stay resident while one-off coordinates are dropped first.
+ * Concurrent misses for a cell share a single upstream call, and an entry is fresh for at most one
+ * upstream {@code current.interval}.
+ * In {@link ForecastCacheMode#EXPIRE} mode a stale entry is reloaded on the request that finds it;
+ * in {@link ForecastCacheMode#REFRESH_AHEAD} mode entries are reloaded in the background before
+ * they go stale. In both, the last good response outlives a failing upstream by up to {@code maxStale}.
+ * After a failed refresh a snapshot is not refreshed again for {@code refreshRetryInterval}, so a
+ * failing upstream sees at most one refresh per cell per interval.
+ */
+@Component
+@Slf4j
+public class ForecastDataCache {
+
+    static final String CACHE_NAME = "openmeteo.forecast";
+    static final String AGGREGATION_METRIC = "forecast.aggregation";
+
+    private final AsyncLoadingCache<GridCell, ForecastSnapshot> cache;
+    private final int gridPrecision;
+    private final ForecastCacheMode mode;
+    private final Duration ttl;
+    private final double refreshAheadRatio;
+    private final Duration refreshRetryInterval;
+    private final Clock clock;
+    private final ScheduledExecutorService refreshScheduler;
+    private final Timer aggregationTimer;
+
+    @Autowired
+    public ForecastDataCache(
+            ForecastFetchBatcher fetchBatcher,
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.cache.ttl:15m}") Duration ttl,
+            @Value("${openmeteo.cache.mode:expire}") ForecastCacheMode mode,
+            @Value("${openmeteo.cache.max-stale:1h}") Duration maxStale,
+            @Value("${openmeteo.cache.refresh-ahead-ratio:0.8}") double refreshAheadRatio,
+            @Value("${openmeteo.cache.refresh-check-interval:30s}") Duration refreshCheckInterval,
+            @Value("${openmeteo.cache.maximum-size:10000}") long maximumSize,
+            @Value("${openmeteo.cache.grid-precision:2}") int gridPrecision) {
+        this(fetchBatcher, meterRegistry, ttl, mode, maxStale, refreshAheadRatio, refreshCheckInterval, maximumSize,
+                gridPrecision, ForkJoinPool.commonPool(), Ticker.systemTicker(), Clock.systemUTC());
+        if (mode == ForecastCacheMode.REFRESH_AHEAD) {
+            long periodMillis = refreshCheckInterval.toMillis();
+            refreshScheduler.scheduleWithFixedDelay(
+                    this::refreshDueEntries, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    ForecastDataCache(
+            ForecastFetchBatcher fetchBatcher,
+            MeterRegistry meterRegistry,
+            Duration ttl,
+            ForecastCacheMode mode,
+            Duration maxStale,
+            double refreshAheadRatio,
+            Duration refreshRetryInterval,
+            long maximumSize,
+            int gridPrecision,
+            Executor executor,
+            Ticker ticker,
+            Clock clock) {
+        if (ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("openmeteo.cache.ttl must be positive");
+        if (maxStale.isNegative())
+            throw new IllegalArgumentException("openmeteo.cache.max-stale must not be negative");
+        if (refreshAheadRatio <= 0 || refreshAheadRatio > 1)
+            throw new IllegalArgumentException("openmeteo.cache.refresh-ahead-ratio must be in (0, 1]");
+        if (refreshRetryInterval.isNegative() || refreshRetryInterval.isZero())
+            throw new IllegalArgumentException("openmeteo.cache.refresh-check-interval must be positive");
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("openmeteo.cache.maximum-size must be positive");
+        if (gridPrecision < 0 || gridPrecision > GridCell.MAX_PRECISION)
+            throw new IllegalArgumentException(
+                    "openmeteo.cache.grid-precision must be between 0 and " + GridCell.MAX_PRECISION);
+        this.mode = mode;
+        this.ttl = ttl;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.refreshRetryInterval = refreshRetryInterval;
+        this.gridPrecision = gridPrecision;
+        this.clock = clock;
+        this.refreshScheduler = mode == ForecastCacheMode.REFRESH_AHEAD
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "forecast-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.aggregationTimer = Timer.builder(AGGREGATION_METRIC)
+                .description("Time spent aggregating the hourly series of a fetched forecast")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new SnapshotExpiry(maxStale))
+                .executor(executor)
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((cell, loaderExecutor) -> fetchBatcher.fetch(cell)
+                        .thenApply(response -> snapshotOf(cell, response)));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ForecastSnapshot get(double latitude, double longitude) {
+        GridCell cell = GridCell.of(latitude, longitude, gridPrecision);
+        ForecastSnapshot snapshot = cache.synchronous().get(cell);
+        if (mode == ForecastCacheMode.EXPIRE)
+            return reloadIfStale(cell, snapshot).join();
+        refreshIfDue(cell, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(double, double)}. The returned future completes when the
+     * cell's forecast is cached or loaded, or fails with the upstream exception.
+     */
+    public CompletableFuture<ForecastSnapshot> getAsync(double latitude, double longitude) {
+        GridCell cell = GridCell.of(latitude, longitude, gridPrecision);
+        CompletableFuture<ForecastSnapshot> future = cache.get(cell);
+        if (mode == ForecastCacheMode.EXPIRE)
+            return future.thenCompose(snapshot -> reloadIfStale(cell, snapshot));
+        return future.thenApply(snapshot -> {
+            refreshIfDue(cell, snapshot);
+            return snapshot;
+        });
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    void refreshDueEntries() {
+        try {
+            cache.synchronous().asMap().forEach(this::refreshIfDue);
+        } catch (RuntimeException e) {
+            log.warn("Forecast cache refresh sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshScheduler != null)
+            refreshScheduler.shutdownNow();
+    }
+
+    private void refreshIfDue(GridCell cell, ForecastSnapshot snapshot) {
+        long refreshAfterMillis = (long) (snapshot.getFreshFor().toMillis() * refreshAheadRatio);
+        Instant refreshAt = snapshot.getFetchedAt().plusMillis(refreshAfterMillis);
+        Instant now = clock.instant();
+        if (now.isBefore(refreshAt) || snapshot.isRefreshBackingOffAt(now, refreshRetryInterval))
+            return;
+        log.debug("Refreshing forecast data for {} fetched at {}", cell, snapshot.getFetchedAt());
+        refresh(cell, snapshot);
+    }
+
+    private CompletableFuture<ForecastSnapshot> reloadIfStale(GridCell cell, ForecastSnapshot snapshot) {
+        Instant now = clock.instant();
+        if (!snapshot.isStaleAt(now) || snapshot.isRefreshBackingOffAt(now, refreshRetryInterval))
+            return CompletableFuture.completedFuture(snapshot);
+        log.debug("Reloading forecast data for {} fetched at {}", cell, snapshot.getFetchedAt());
+        return refresh(cell, snapshot).exceptionally(failure -> {
+            log.warn("Serving stale forecast data for {} fetched at {}: {}",
+                    cell, snapshot.getFetchedAt(), failure.getMessage());
+            return snapshot;
+        });
+    }
+
+    private CompletableFuture<ForecastSnapshot> refresh(GridCell cell, ForecastSnapshot snapshot) {
+        return cache.synchronous().refresh(cell).whenComplete((refreshed, failure) -> {
+            if (failure != null)
+                snapshot.markRefreshFailed(clock.instant());
+        });
+    }
+
+    private ForecastSnapshot snapshotOf(GridCell cell, OpenMeteoApiResponse response) {
+        return aggregationTimer.record(
+                () -> new ForecastSnapshot(cell, response, clock.instant(), freshLifetimeOf(response)));
+    }
+
+    private Duration freshLifetimeOf(OpenMeteoApiResponse response) {
+        OpenMeteoApiResponse.Current current = response.getCurrent();
+        if (current == null || current.getInterval() == null || current.getInterval() <= 0)
+            return ttl;
+        Duration interval = Duration.ofSeconds(current.getInterval());
+        return interval.compareTo(ttl) < 0 ? interval : ttl;
+    }
+
+    static final class SnapshotExpiry implements Expiry<GridCell, ForecastSnapshot> {
+
+        private final long staleWindowNanos;
+
+        SnapshotExpiry(Duration staleWindow) {
+            this.staleWindowNanos = staleWindow.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(GridCell key, ForecastSnapshot value, long currentTime) {
+            return lifetimeOf(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(GridCell key, ForecastSnapshot value, long currentTime, long currentDuration) {
+            return lifetimeOf(value);
+        }
+
+        @Override
+        public long expireAfterRead(GridCell key, ForecastSnapshot value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long lifetimeOf(ForecastSnapshot value) {
+            return value.getFreshFor().toNanos() + staleWindowNanos;
+        }
+    }
+}
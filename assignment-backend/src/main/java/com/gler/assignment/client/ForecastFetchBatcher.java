@@ -0,0 +1,192 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.config.ExecutorConfig;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects forecast fetches for different grid cells over a short window and sends them to
+ * Open-Meteo as one multi-location request. A batch is dispatched when the window elapses or when
+ * it reaches {@code maxBatchSize}, whichever comes first. A zero window fetches every cell on its own.
+ */
+@Component
+@Slf4j
+public class ForecastFetchBatcher {
+
+    static final String BATCH_SIZE_METRIC = "openmeteo.fetch.batch.size";
+
+    private final OpenMeteoClient openMeteoClient;
+    private final ReactiveOpenMeteoClient reactiveOpenMeteoClient;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+    private Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    @Autowired
+    public ForecastFetchBatcher(
+            OpenMeteoClient openMeteoClient,
+            ReactiveOpenMeteoClient reactiveOpenMeteoClient,
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.fetch.mode:blocking}") ForecastFetchMode mode,
+            @Value("${openmeteo.batch.max-size:50}") int maxBatchSize,
+            @Value("${openmeteo.batch.window:10ms}") Duration window,
+            @Qualifier(ExecutorConfig.OPEN_METEO_EXECUTOR) Executor executor) {
+        this(openMeteoClient, mode == ForecastFetchMode.REACTIVE ? reactiveOpenMeteoClient : null,
+                meterRegistry, maxBatchSize, window, executor);
+    }
+
+    public ForecastFetchBatcher(
+            OpenMeteoClient openMeteoClient,
+            MeterRegistry meterRegistry,
+            int maxBatchSize,
+            Duration window,
+            Executor executor) {
+        this(openMeteoClient, null, meterRegistry, maxBatchSize, window, executor);
+    }
+
+    /**
+     * Fetches through {@code reactiveOpenMeteoClient} when it is given, otherwise through
+     * {@code openMeteoClient} on {@code executor}.
+     */
+    ForecastFetchBatcher(
+            OpenMeteoClient openMeteoClient,
+            ReactiveOpenMeteoClient reactiveOpenMeteoClient,
+            MeterRegistry meterRegistry,
+            int maxBatchSize,
+            Duration window,
+            Executor executor) {
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("openmeteo.batch.max-size must be positive");
+        if (window.isNegative())
+            throw new IllegalArgumentException("openmeteo.batch.window must not be negative");
+        this.openMeteoClient = openMeteoClient;
+        this.reactiveOpenMeteoClient = reactiveOpenMeteoClient;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.executor = executor;
+        this.scheduler = windowNanos > 0
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "forecast-fetch-batcher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Locations per upstream forecast request")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<OpenMeteoApiResponse> fetch(GridCell cell) {
+        if (scheduler == null) {
+            batchSizes.record(1);
+            if (reactiveOpenMeteoClient != null)
+                return reactiveOpenMeteoClient.fetchForecastData(cell.latitude(), cell.longitude()).toFuture();
+            return CompletableFuture.supplyAsync(
+                    () -> openMeteoClient.fetchForecastData(cell.latitude(), cell.longitude()), executor);
+        }
+        CompletableFuture<OpenMeteoApiResponse> future;
+        Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> fullBatch = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(cell, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize)
+                fullBatch = takePending();
+            else if (scheduledFlush == null)
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        if (fullBatch != null)
+            dispatch(fullBatch);
+        return future;
+    }
+
+    void flush() {
+        Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty())
+                return;
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+
+    private Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> takePending() {
+        Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch) {
+        if (reactiveOpenMeteoClient != null) {
+            List<GridCell> cells = startBatch(batch);
+            reactiveOpenMeteoClient.fetchForecastData(cells).subscribe(
+                    responses -> completeBatch(batch, cells, responses),
+                    failure -> failBatch(batch, failure));
+            return;
+        }
+        try {
+            executor.execute(() -> fetchBatch(batch));
+        } catch (RuntimeException e) {
+            failBatch(batch, e);
+        }
+    }
+
+    private void fetchBatch(Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch) {
+        List<GridCell> cells = startBatch(batch);
+        try {
+            completeBatch(batch, cells, openMeteoClient.fetchForecastData(cells));
+        } catch (RuntimeException e) {
+            failBatch(batch, e);
+        }
+    }
+
+    private List<GridCell> startBatch(Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch) {
+        List<GridCell> cells = new ArrayList<>(batch.keySet());
+        batchSizes.record(cells.size());
+        log.debug("Fetching forecast data for {} locations in one upstream request", cells.size());
+        return cells;
+    }
+
+    private static void completeBatch(Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch,
+                                      List<GridCell> cells, List<OpenMeteoApiResponse> responses) {
+        for (int i = 0; i < cells.size(); i++)
+            batch.get(cells.get(i)).complete(responses.get(i));
+    }
+
+    private static void failBatch(Map<GridCell, CompletableFuture<OpenMeteoApiResponse>> batch, Throwable failure) {
+        batch.values().forEach(future -> future.completeExceptionally(failure));
+    }
+}
@@ -0,0 +1,16 @@
+package com.gler.assignment.client;
+
+public enum ForecastFetchMode {
+
+    /**
+     * Upstream requests go through {@link OpenMeteoClient} on the Open-Meteo executor, which holds
+     * one thread per request in flight.
+     */
+    BLOCKING,
+
+    /**
+     * Upstream requests go through {@link ReactiveOpenMeteoClient}; no thread waits while a
+     * request is in flight.
+     */
+    REACTIVE
+}
@@ -0,0 +1,52 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@ToString(exclude = "aggregates")
+public final class ForecastSnapshot {
+
+    private final GridCell cell;
+    private final OpenMeteoApiResponse response;
+    private final Instant fetchedAt;
+    private final Duration freshFor;
+    private final HourlyAggregates aggregates;
+    @Getter(AccessLevel.NONE)
+    private volatile Instant refreshFailedAt;
+
+    public ForecastSnapshot(GridCell cell, OpenMeteoApiResponse response, Instant fetchedAt, Duration freshFor) {
+        this.cell = cell;
+        this.response = response;
+        this.fetchedAt = fetchedAt;
+        this.freshFor = freshFor;
+        this.aggregates = HourlyAggregates.of(response.getHourly());
+    }
+
+    public Instant getFreshUntil() {
+        return fetchedAt.plus(freshFor);
+    }
+
+    public Duration ageAt(Instant now) {
+        Duration age = Duration.between(fetchedAt, now);
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+
+    public boolean isStaleAt(Instant now) {
+        return now.isAfter(getFreshUntil());
+    }
+
+    boolean isRefreshBackingOffAt(Instant now, Duration backoff) {
+        Instant failedAt = refreshFailedAt;
+        return failedAt != null && now.isBefore(failedAt.plus(backoff));
+    }
+
+    void markRefreshFailed(Instant now) {
+        refreshFailedAt = now;
+    }
+}
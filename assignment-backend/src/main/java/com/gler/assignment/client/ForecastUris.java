@@ -0,0 +1,48 @@
+package com.gler.assignment.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Builds Open-Meteo forecast URIs from the configured API URL, replacing any coordinates it
+ * already carries. Several cells are sent as comma-separated coordinate lists.
+ */
+final class ForecastUris {
+
+    private ForecastUris() {
+    }
+
+    static URI of(String apiUrl, double latitude, double longitude) {
+        return of(apiUrl, format(latitude), format(longitude));
+    }
+
+    static URI of(String apiUrl, List<GridCell> cells) {
+        return of(apiUrl, join(cells, GridCell::latitude), join(cells, GridCell::longitude));
+    }
+
+    private static URI of(String apiUrl, String latitudes, String longitudes) {
+        return UriComponentsBuilder.fromUriString(apiUrl)
+                .replaceQueryParam("latitude", latitudes)
+                .replaceQueryParam("longitude", longitudes)
+                .build()
+                .toUri();
+    }
+
+    // Same digits as Double.toString, which switches to scientific notation below 1e-3, e.g.
+    // 1.0E-4 for a precision-4 cell next to the equator.
+    private static String format(double coordinate) {
+        BigDecimal value = BigDecimal.valueOf(coordinate).stripTrailingZeros();
+        return (value.scale() < 1 ? value.setScale(1) : value).toPlainString();
+    }
+
+    private static String join(List<GridCell> cells, ToDoubleFunction<GridCell> coordinate) {
+        return cells.stream()
+                .map(cell -> format(coordinate.applyAsDouble(cell)))
+                .collect(Collectors.joining(","));
+    }
+}
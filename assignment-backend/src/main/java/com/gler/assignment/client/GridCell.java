@@ -0,0 +1,39 @@
+package com.gler.assignment.client;
+
+/**
+ * A cell of the coordinate grid, {@code 10^-precision} degrees on each side. Nearby coordinates
+ * round to the same cell and share one cached forecast, fetched for the cell's center.
+ */
+public record GridCell(int latitudeIndex, int longitudeIndex, int precision) {
+
+    static final int MAX_PRECISION = 4;
+
+    private static final double[] SCALES = {1, 10, 100, 1_000, 10_000};
+
+    public GridCell {
+        scale(precision);
+    }
+
+    public static GridCell of(double latitude, double longitude, int precision) {
+        if (!(latitude >= -90 && latitude <= 90))
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        if (!(longitude >= -180 && longitude <= 180))
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        double scale = scale(precision);
+        return new GridCell((int) Math.round(latitude * scale), (int) Math.round(longitude * scale), precision);
+    }
+
+    public double latitude() {
+        return latitudeIndex / scale(precision);
+    }
+
+    public double longitude() {
+        return longitudeIndex / scale(precision);
+    }
+
+    private static double scale(int precision) {
+        if (precision < 0 || precision > MAX_PRECISION)
+            throw new IllegalArgumentException("Grid precision must be between 0 and " + MAX_PRECISION);
+        return SCALES[precision];
+    }
+}
@@ -0,0 +1,132 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+
+import java.util.Arrays;
+
+/**
+ * Min, max and mean of every hourly series, computed once per fetched response. Values are held
+ * in a single primitive array; a series without any present sample reports {@link Double#NaN}.
+ */
+public final class HourlyAggregates {
+
+    public enum Series {
+        TEMPERATURE_2M,
+        RELATIVE_HUMIDITY_2M,
+        WIND_SPEED_10M
+    }
+
+    private static final int MIN = 0;
+    private static final int MAX = 1;
+    private static final int MEAN = 2;
+    private static final int STRIDE = 3;
+
+    private static final HourlyAggregates EMPTY = new HourlyAggregates(emptyValues(), new int[Series.values().length]);
+
+    private final double[] values;
+    private final int[] counts;
+    private final Double[] boxedMaxima;
+
+    private HourlyAggregates(double[] values, int[] counts) {
+        this.values = values;
+        this.counts = counts;
+        this.boxedMaxima = new Double[counts.length];
+        for (int series = 0; series < counts.length; series++)
+            boxedMaxima[series] = counts[series] == 0 ? null : values[series * STRIDE + MAX];
+    }
+
+    public static HourlyAggregates of(OpenMeteoApiResponse.Hourly hourly) {
+        if (hourly == null)
+            return EMPTY;
+        double[] values = emptyValues();
+        int[] counts = new int[Series.values().length];
+        accumulate(values, counts, Series.TEMPERATURE_2M, hourly.getTemperature2m());
+        accumulate(values, counts, Series.RELATIVE_HUMIDITY_2M, hourly.getRelativeHumidity2m());
+        accumulate(values, counts, Series.WIND_SPEED_10M, hourly.getWindSpeed10m());
+        return new HourlyAggregates(values, counts);
+    }
+
+    public static HourlyAggregates empty() {
+        return EMPTY;
+    }
+
+    public double min(Series series) {
+        return values[series.ordinal() * STRIDE + MIN];
+    }
+
+    public double max(Series series) {
+        return values[series.ordinal() * STRIDE + MAX];
+    }
+
+    public double mean(Series series) {
+        return values[series.ordinal() * STRIDE + MEAN];
+    }
+
+    public int count(Series series) {
+        return counts[series.ordinal()];
+    }
+
+    /**
+     * Returns the maximum as a shared boxed instance, or {@code null} when the series has no samples.
+     */
+    public Double maxOrNull(Series series) {
+        return boxedMaxima[series.ordinal()];
+    }
+
+    private static void accumulate(double[] values, int[] counts, Series series, double[] samples) {
+        if (samples == null)
+            return;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        int count = 0;
+        for (double sample : samples) {
+            if (Double.isNaN(sample))
+                continue;
+            if (sample < min)
+                min = sample;
+            if (sample > max)
+                max = sample;
+            sum += sample;
+            count++;
+        }
+        store(values, counts, series, min, max, sum, count);
+    }
+
+    private static void accumulate(double[] values, int[] counts, Series series, int[] samples) {
+        if (samples == null)
+            return;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+        int count = 0;
+        for (int sample : samples) {
+            if (sample == OpenMeteoApiResponse.Hourly.MISSING_INT)
+                continue;
+            if (sample < min)
+                min = sample;
+            if (sample > max)
+                max = sample;
+            sum += sample;
+            count++;
+        }
+        store(values, counts, series, min, max, sum, count);
+    }
+
+    private static void store(double[] values, int[] counts, Series series,
+                              double min, double max, double sum, int count) {
+        if (count == 0)
+            return;
+        int offset = series.ordinal() * STRIDE;
+        values[offset + MIN] = min;
+        values[offset + MAX] = max;
+        values[offset + MEAN] = sum / count;
+        counts[series.ordinal()] = count;
+    }
+
+    private static double[] emptyValues() {
+        double[] values = new double[Series.values().length * STRIDE];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+}
@@ -2,38 +2,132 @@ package com.gler.assignment.client;
 
 import com.gler.assignment.dto.OpenMeteoApiResponse;
 import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Blocking Open-Meteo client. Calls first take a permit from the adaptive concurrency limiter,
+ * then pass a circuit breaker, which stops calling a failing or slow upstream for a while, and a
+ * bulkhead, which caps how many run at once. Calls rejected by any of them fail with
+ * {@link UpstreamUnavailableException}. Slow calls are hedged by {@link RequestHedger}; each
+ * attempt is guarded on its own.
+ */
 @Component
 @Slf4j
 public class OpenMeteoClient {
 
     private final RestTemplate restTemplate;
     private final String apiUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
 
+    @Autowired
     public OpenMeteoClient(
             RestTemplate restTemplate,
-            @Value("${openmeteo.api.url:https://api.open-meteo.com/v1/forecast?latitude=52.52&longitude=13.41&current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m}")
-            String apiUrl) {
+            @Value("${openmeteo.api.url:https://api.open-meteo.com/v1/forecast?current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m}")
+            String apiUrl,
+            CircuitBreaker openMeteoCircuitBreaker,
+            Bulkhead openMeteoBulkhead,
+            AdaptiveConcurrencyLimiter openMeteoConcurrencyLimiter,
+            RequestHedger openMeteoRequestHedger) {
         this.restTemplate = restTemplate;
         this.apiUrl = apiUrl;
+        this.circuitBreaker = openMeteoCircuitBreaker;
+        this.bulkhead = openMeteoBulkhead;
+        this.concurrencyLimiter = openMeteoConcurrencyLimiter;
+        this.requestHedger = openMeteoRequestHedger;
+    }
+
+    public OpenMeteoClient(RestTemplate restTemplate, String apiUrl) {
+        this(restTemplate, apiUrl, CircuitBreaker.ofDefaults("openmeteo"), Bulkhead.ofDefaults("openmeteo"),
+                AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"), RequestHedger.disabled());
+    }
+
+    public OpenMeteoApiResponse fetchForecastData(double latitude, double longitude) {
+        return requestHedger.execute(() -> guarded(() -> fetch(latitude, longitude)));
+    }
+
+    /**
+     * Fetches several locations in one request. Open-Meteo answers with one forecast per
+     * coordinate pair, in request order, so the returned list lines up with {@code cells}.
+     */
+    public List<OpenMeteoApiResponse> fetchForecastData(List<GridCell> cells) {
+        if (cells.size() == 1)
+            return List.of(fetchForecastData(cells.get(0).latitude(), cells.get(0).longitude()));
+        return requestHedger.execute(() -> guarded(() -> fetch(cells)));
     }
 
-    public OpenMeteoApiResponse fetchForecastData() {
-        log.info("Fetching forecast data from Open-Meteo API");
+    private OpenMeteoApiResponse fetch(double latitude, double longitude) {
         try {
-            OpenMeteoApiResponse response = restTemplate.getForObject(apiUrl, OpenMeteoApiResponse.class);
+            OpenMeteoApiResponse response = restTemplate.getForObject(forecastUri(latitude, longitude), OpenMeteoApiResponse.class);
             if (response == null)
                 throw new UpstreamApiException("Received null response from upstream API");
-            log.info("Successfully fetched forecast data from Open-Meteo API");
+            log.debug("Fetched forecast data from Open-Meteo API for {},{}", latitude, longitude);
             return response;
         } catch (RestClientException e) {
             log.error("Failed to fetch data from Open-Meteo API: {}", e.getMessage(), e);
             throw new UpstreamApiException("Connection to the upstream is unreachable", e);
         }
     }
-}
\ No newline at end of file
+
+    private List<OpenMeteoApiResponse> fetch(List<GridCell> cells) {
+        try {
+            OpenMeteoApiResponse[] responses = restTemplate.getForObject(forecastUri(cells), OpenMeteoApiResponse[].class);
+            if (responses == null)
+                throw new UpstreamApiException("Received null response from upstream API");
+            if (responses.length != cells.size())
+                throw new UpstreamApiException("Received " + responses.length + " forecasts for " + cells.size() + " locations");
+            log.debug("Fetched forecast data from Open-Meteo API for {} locations", cells.size());
+            return Arrays.asList(responses);
+        } catch (RestClientException e) {
+            log.error("Failed to fetch data from Open-Meteo API: {}", e.getMessage(), e);
+            throw new UpstreamApiException("Connection to the upstream is unreachable", e);
+        }
+    }
+
+    // The bulkhead sits inside the breaker so that a full bulkhead is not counted as an upstream
+    // failure; ResilienceConfig also tells the breaker to ignore BulkheadFullException. The limiter
+    // sits outside both, so only calls that reached the upstream adjust its limit.
+    private <T> T guarded(Supplier<T> call) {
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire().orElseThrow(() -> {
+            log.warn("Open-Meteo call shed at concurrency limit {}", concurrencyLimiter.getLimit());
+            return new UpstreamUnavailableException("Upstream API concurrency limit reached");
+        });
+        try {
+            T result = circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+            permit.success();
+            return result;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            permit.release();
+            log.warn("Open-Meteo call rejected: {}", e.getMessage());
+            throw new UpstreamUnavailableException("Upstream API is temporarily unavailable", e);
+        } catch (RuntimeException e) {
+            permit.dropped();
+            throw e;
+        }
+    }
+
+    URI forecastUri(double latitude, double longitude) {
+        return ForecastUris.of(apiUrl, latitude, longitude);
+    }
+
+    URI forecastUri(List<GridCell> cells) {
+        return ForecastUris.of(apiUrl, cells);
+    }
+}
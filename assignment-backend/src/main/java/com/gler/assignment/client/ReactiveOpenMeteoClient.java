@@ -0,0 +1,167 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.codec.CodecException;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link OpenMeteoClient}. Requests share a bounded connection pool and
+ * run on the Reactor Netty event loops, so a slow upstream costs open connections, not threads.
+ * Shares its concurrency limiter, circuit breaker and bulkhead with the blocking client; it never
+ * waits for a limiter permit, so calls over the limit are shed at once.
+ */
+@Component
+@Slf4j
+public class ReactiveOpenMeteoClient {
+
+    private final WebClient webClient;
+    private final String apiUrl;
+    private final ConnectionProvider connectionProvider;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    public ReactiveOpenMeteoClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${openmeteo.api.url:https://api.open-meteo.com/v1/forecast?current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m}")
+            String apiUrl,
+            @Value("${openmeteo.reactive.max-connections:500}") int maxConnections,
+            @Value("${openmeteo.reactive.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${openmeteo.reactive.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${openmeteo.reactive.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${openmeteo.reactive.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${openmeteo.reactive.response-timeout:10s}") Duration responseTimeout,
+            CircuitBreaker openMeteoCircuitBreaker,
+            Bulkhead openMeteoBulkhead,
+            AdaptiveConcurrencyLimiter openMeteoConcurrencyLimiter) {
+        this.apiUrl = apiUrl;
+        this.circuitBreaker = openMeteoCircuitBreaker;
+        this.bulkhead = openMeteoBulkhead;
+        this.concurrencyLimiter = openMeteoConcurrencyLimiter;
+        this.connectionProvider = ConnectionProvider.builder("openmeteo")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    ReactiveOpenMeteoClient(WebClient webClient, String apiUrl, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                            AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.webClient = webClient;
+        this.apiUrl = apiUrl;
+        this.connectionProvider = null;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    ReactiveOpenMeteoClient(WebClient webClient, String apiUrl) {
+        this(webClient, apiUrl, CircuitBreaker.ofDefaults("openmeteo"), Bulkhead.ofDefaults("openmeteo"),
+                AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"));
+    }
+
+    public Mono<OpenMeteoApiResponse> fetchForecastData(double latitude, double longitude) {
+        return webClient.get()
+                .uri(ForecastUris.of(apiUrl, latitude, longitude))
+                .retrieve()
+                .bodyToMono(OpenMeteoApiResponse.class)
+                .switchIfEmpty(Mono.error(() -> new UpstreamApiException("Received null response from upstream API")))
+                .onErrorMap(ReactiveOpenMeteoClient::isTransportFailure, ReactiveOpenMeteoClient::unreachable)
+                .transform(this::guarded);
+    }
+
+    /**
+     * Fetches several locations in one request; see {@link OpenMeteoClient#fetchForecastData(List)}.
+     */
+    public Mono<List<OpenMeteoApiResponse>> fetchForecastData(List<GridCell> cells) {
+        if (cells.size() == 1)
+            return fetchForecastData(cells.get(0).latitude(), cells.get(0).longitude()).map(List::of);
+        return webClient.get()
+                .uri(ForecastUris.of(apiUrl, cells))
+                .retrieve()
+                .bodyToMono(OpenMeteoApiResponse[].class)
+                .switchIfEmpty(Mono.error(() -> new UpstreamApiException("Received null response from upstream API")))
+                .onErrorMap(ReactiveOpenMeteoClient::isTransportFailure, ReactiveOpenMeteoClient::unreachable)
+                .<List<OpenMeteoApiResponse>>handle((responses, sink) -> {
+                    if (responses.length != cells.size())
+                        sink.error(new UpstreamApiException(
+                                "Received " + responses.length + " forecasts for " + cells.size() + " locations"));
+                    else
+                        sink.next(Arrays.asList(responses));
+                })
+                .transform(this::guarded);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (connectionProvider != null)
+            connectionProvider.dispose();
+    }
+
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return Mono.defer(() -> concurrencyLimiter.tryAcquire(Duration.ZERO)
+                .map(permit -> call.transformDeferred(BulkheadOperator.of(bulkhead))
+                        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                        .doOnSuccess(response -> permit.success())
+                        .doOnError(e -> {
+                            if (isRejection(e))
+                                permit.release();
+                            else
+                                permit.dropped();
+                        })
+                        .doFinally(signal -> permit.release())
+                        .onErrorMap(ReactiveOpenMeteoClient::isRejection, e -> {
+                            log.warn("Open-Meteo call rejected: {}", e.getMessage());
+                            return new UpstreamUnavailableException("Upstream API is temporarily unavailable", e);
+                        }))
+                .orElseGet(() -> {
+                    log.warn("Open-Meteo call shed at concurrency limit {}", concurrencyLimiter.getLimit());
+                    return Mono.error(new UpstreamUnavailableException("Upstream API concurrency limit reached"));
+                }));
+    }
+
+    private static boolean isRejection(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+
+    private static boolean isTransportFailure(Throwable e) {
+        return e instanceof WebClientException || e instanceof CodecException;
+    }
+
+    private static UpstreamApiException unreachable(Throwable e) {
+        log.error("Failed to fetch data from Open-Meteo API: {}", e.getMessage());
+        return new UpstreamApiException("Connection to the upstream is unreachable", e);
+    }
+}
@@ -0,0 +1,204 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.exceptions.UpstreamApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a call on {@code executor}. If it has not answered within the delay, a second identical
+ * call is started and whichever succeeds first wins; the slower one is left to finish in the
+ * background. The delay tracks the given percentile of recent successful call latencies. Each call
+ * earns {@code budgetRatio} of a hedge, so hedges stay near that share of all calls.
+ */
+@Slf4j
+public final class RequestHedger implements MeterBinder {
+
+    private static final int LATENCY_SAMPLES = 1000;
+    private static final int RECOMPUTE_EVERY = 50;
+    private static final double MAX_TOKENS = 10;
+
+    private final Executor executor;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    private volatile long delayNanos;
+    private long recorded;
+    private double tokens = MAX_TOKENS;
+
+    public RequestHedger(Executor executor, double percentile, Duration initialDelay, Duration minDelay,
+                         double budgetRatio) {
+        if (percentile <= 0 || percentile >= 1)
+            throw new IllegalArgumentException("Hedge percentile must be in (0, 1)");
+        if (budgetRatio < 0 || budgetRatio > 1)
+            throw new IllegalArgumentException("Hedge budget must be in [0, 1]");
+        if (initialDelay.isNegative() || minDelay.isNegative())
+            throw new IllegalArgumentException("Hedge delays must not be negative");
+        this.executor = executor;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budgetRatio = budgetRatio;
+        this.delayNanos = Math.max(minDelayNanos, initialDelay.toNanos());
+    }
+
+    /**
+     * A hedger that runs every call directly on the caller's thread.
+     */
+    public static RequestHedger disabled() {
+        return new RequestHedger(null, 0.95, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (executor == null)
+            return call.get();
+        calls.increment();
+        earnToken();
+        CompletableFuture<T> primary;
+        try {
+            primary = attempt(call);
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(call, primary);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamApiException("Interrupted while waiting for the upstream", e);
+        }
+    }
+
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("openmeteo.hedge.calls", calls, LongAdder::sum)
+                .description("Upstream calls eligible for hedging")
+                .register(registry);
+        FunctionCounter.builder("openmeteo.hedge.requests", hedges, LongAdder::sum)
+                .description("Hedged requests sent")
+                .register(registry);
+        FunctionCounter.builder("openmeteo.hedge.wins", wins, LongAdder::sum)
+                .description("Hedged requests that answered before the original")
+                .register(registry);
+        FunctionCounter.builder("openmeteo.hedge.skipped", skipped, LongAdder::sum)
+                .description("Hedges not sent because the budget or the executor was exhausted")
+                .register(registry);
+        TimeGauge.builder("openmeteo.hedge.delay", this, TimeUnit.NANOSECONDS, hedger -> hedger.delayNanos)
+                .description("Current delay before a hedged request is sent")
+                .register(registry);
+    }
+
+    private <T> T hedge(Supplier<T> call, CompletableFuture<T> primary) {
+        CompletableFuture<T> secondary = spendToken() ? tryAttempt(call) : null;
+        if (secondary == null) {
+            skipped.increment();
+            return join(primary);
+        }
+        hedges.increment();
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> winner = new AtomicReference<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, failure) -> settle(first, primary, response, failure, winner, failures));
+        secondary.whenComplete((response, failure) -> settle(first, secondary, response, failure, winner, failures));
+        T response = join(first);
+        if (winner.get() == secondary)
+            wins.increment();
+        return response;
+    }
+
+    private <T> CompletableFuture<T> tryAttempt(Supplier<T> call) {
+        try {
+            return attempt(call);
+        } catch (RejectedExecutionException e) {
+            log.debug("Hedge executor saturated, waiting for the original call");
+            return null;
+        }
+    }
+
+    private <T> CompletableFuture<T> attempt(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T response = call.get();
+            record(System.nanoTime() - start);
+            return response;
+        }, executor);
+    }
+
+    // Completes with the first success, or with the last failure once both calls have failed.
+    private static <T> void settle(CompletableFuture<T> first, CompletableFuture<T> attempt, T response,
+                                   Throwable failure, AtomicReference<CompletableFuture<T>> winner,
+                                   AtomicInteger failures) {
+        if (failure == null) {
+            if (winner.compareAndSet(null, attempt))
+                first.complete(response);
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(failure);
+        }
+    }
+
+    private synchronized void earnToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + budgetRatio);
+    }
+
+    private synchronized boolean spendToken() {
+        if (tokens < 1)
+            return false;
+        tokens--;
+        return true;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[(int) (recorded % LATENCY_SAMPLES)] = latencyNanos;
+        recorded++;
+        if (recorded % RECOMPUTE_EVERY != 0)
+            return;
+        long[] sorted = Arrays.copyOf(latencies, (int) Math.min(recorded, LATENCY_SAMPLES));
+        Arrays.sort(sorted);
+        long quantile = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        delayNanos = Math.max(minDelayNanos, quantile);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null)
+            failure = failure.getCause();
+        if (failure instanceof RuntimeException runtimeException)
+            return runtimeException;
+        return new UpstreamApiException("Connection to the upstream is unreachable", failure);
+    }
+}
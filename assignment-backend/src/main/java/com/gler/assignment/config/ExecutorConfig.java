@@ -0,0 +1,68 @@
+package com.gler.assignment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors the blocking Open-Meteo calls run on. With {@code spring.threads.virtual.enabled} on a
+ * Java 21 runtime every upstream call gets its own virtual thread, otherwise they share bounded
+ * platform pools. Hedged attempts get their own pool because the fetch threads block on them.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    public static final String OPEN_METEO_EXECUTOR = "openMeteoExecutor";
+
+    public static final String OPEN_METEO_HEDGE_EXECUTOR = "openMeteoHedgeExecutor";
+
+    private static final String OPEN_METEO_THREAD_PREFIX = "openmeteo-fetch-";
+
+    private static final String OPEN_METEO_HEDGE_THREAD_PREFIX = "openmeteo-hedge-";
+
+    @Bean(name = OPEN_METEO_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor openMeteoPlatformExecutor(
+            @Value("${openmeteo.fetch.pool-size:32}") int poolSize,
+            @Value("${openmeteo.fetch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(OPEN_METEO_THREAD_PREFIX);
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = OPEN_METEO_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor openMeteoVirtualExecutor() {
+        return new VirtualThreadTaskExecutor(OPEN_METEO_THREAD_PREFIX);
+    }
+
+    @Bean(name = OPEN_METEO_HEDGE_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor openMeteoHedgePlatformExecutor(
+            @Value("${openmeteo.hedge.pool-size:64}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix(OPEN_METEO_HEDGE_THREAD_PREFIX);
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean(name = OPEN_METEO_HEDGE_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor openMeteoHedgeVirtualExecutor() {
+        return new VirtualThreadTaskExecutor(OPEN_METEO_HEDGE_THREAD_PREFIX);
+    }
+}
@@ -2,139 +2,158 @@ package com.gler.assignment.config;
 
 import com.gler.assignment.dto.ErrorResponse;
 import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Maps {@code ex}, or the cause of a {@link CompletionException}, to its error body. The bulk
+     * endpoints use it for the per-entry errors they stream inside a 200 response.
+     */
+    public static ErrorResponse errorResponseOf(Throwable ex, String path) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof UpstreamUnavailableException)
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Upstream API Unavailable",
+                    "Upstream API is temporarily unavailable", path);
+        if (cause instanceof UpstreamApiException)
+            return errorResponse(HttpStatus.BAD_GATEWAY, "Upstream API Unreachable",
+                    "Connection to the upstream is unreachable", path);
+        if (cause instanceof RejectedExecutionException)
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded, try again later", path);
+        if (cause instanceof HttpMediaTypeNotSupportedException mediaTypeException)
+            return errorResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "Unsupported content type: " + mediaTypeException.getContentType(), path);
+        if (cause instanceof MissingServletRequestParameterException parameterException)
+            return errorResponse(HttpStatus.BAD_REQUEST,
+                    "Missing required parameter: " + parameterException.getParameterName(), path);
+        if (cause instanceof MethodArgumentTypeMismatchException mismatchException)
+            return errorResponse(HttpStatus.BAD_REQUEST, "Invalid value for parameter: " + mismatchException.getName(), path);
+        if (cause instanceof MethodArgumentNotValidException notValidException)
+            return errorResponse(HttpStatus.BAD_REQUEST, notValidException.getBindingResult().getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .findFirst()
+                    .orElse("Validation failed"), path);
+        if (cause instanceof HttpMessageNotReadableException notReadableException) {
+            String message = notReadableException.getMostSpecificCause().getMessage();
+            return errorResponse(HttpStatus.BAD_REQUEST,
+                    message != null ? message : "Malformed JSON request or missing body", path);
+        }
+        if (cause instanceof IllegalArgumentException || cause instanceof ValidationException)
+            return errorResponse(HttpStatus.BAD_REQUEST, cause.getMessage(), path);
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", path);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
-
         log.error("IllegalArgumentException: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return responseOf(ex, request);
     }
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(
             MissingServletRequestParameterException ex, WebRequest request) {
-
         log.error("Missing Request Parameter Exception: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Missing required parameter: " + ex.getParameterName())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
+        return responseOf(ex, request);
+    }
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+        log.error("Method Argument Type Mismatch Exception: {}", ex.getMessage());
+        return responseOf(ex, request);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMediaTypeNotSupportedException(
+            HttpMediaTypeNotSupportedException ex, WebRequest request) {
+        log.error("Media Type Not Supported Exception: {}", ex.getMessage());
+        return responseOf(ex, request);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
             HttpMessageNotReadableException ex, WebRequest request) {
-
         log.error("HttpMessageNotReadableException: {}", ex.getMessage());
-        String message = "Malformed JSON request or missing body";
-        ex.getMostSpecificCause();
-        if (ex.getMostSpecificCause().getMessage() != null) {
-            message = ex.getMostSpecificCause().getMessage();
-        }
-
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(message)
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return responseOf(ex, request);
     }
 
     @ExceptionHandler(UpstreamApiException.class)
     public ResponseEntity<ErrorResponse> handleUpstreamApiException(
             UpstreamApiException ex, WebRequest request) {
         log.error("Upstream API Exception: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_GATEWAY.value())
-                .error("Upstream API Unreachable")
-                .message("Connection to the upstream is unreachable")
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
+        return responseOf(ex, request);
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(
+            UpstreamUnavailableException ex, WebRequest request) {
+        log.warn("Upstream Unavailable Exception: {}", ex.getMessage());
+        return responseOf(ex, request);
+    }
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_GATEWAY);
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(
+            RejectedExecutionException ex, WebRequest request) {
+        log.warn("Rejected Execution Exception: {}", ex.getMessage());
+        return responseOf(ex, request);
     }
 
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             ValidationException ex, WebRequest request) {
         log.error("Validation Exception: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return responseOf(ex, request);
     }
 
-    @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
+    @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
-            org.springframework.web.bind.MethodArgumentNotValidException ex, WebRequest request) {
-
+            MethodArgumentNotValidException ex, WebRequest request) {
         log.error("Method Argument Not Valid Exception: {}", ex.getMessage());
-        String message = ex.getBindingResult().getFieldErrors().stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .findFirst()
-                .orElse("Validation failed");
-
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(message)
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return responseOf(ex, request);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
             Exception ex, WebRequest request) {
         log.error("Unexpected exception: {}", ex.getMessage(), ex);
-        ErrorResponse errorResponse = ErrorResponse.builder()
+        return responseOf(ex, request);
+    }
+
+    private static ResponseEntity<ErrorResponse> responseOf(Exception ex, WebRequest request) {
+        ErrorResponse errorResponse = errorResponseOf(ex, request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.valueOf(errorResponse.getStatus()));
+    }
+
+    private static ErrorResponse errorResponse(HttpStatus status, String message, String path) {
+        return errorResponse(status, status.getReasonPhrase(), message, path);
+    }
+
+    private static ErrorResponse errorResponse(HttpStatus status, String error, String message, String path) {
+        return ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
-                .message("An unexpected error occurred")
-                .path(request.getDescription(false).replace("uri=", ""))
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(path)
                 .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -0,0 +1,72 @@
+package com.gler.assignment.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks for gzip-encoded responses and inflates them while they are read. Needed for the JDK client,
+ * which leaves {@code Content-Encoding} handling to the caller.
+ */
+class GzipDecompressingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return GZIP.equalsIgnoreCase(encoding) ? new GzipResponse(response) : response;
+    }
+
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipResponse(ClientHttpResponse response) {
+            this.response = response;
+            this.headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null)
+                body = new GZIPInputStream(response.getBody());
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gler.assignment.config;
+
+public enum HttpClientType {
+
+    /**
+     * Apache HttpClient 5 with a pooled connection manager. HTTP/1.1 only; gzip responses are
+     * decompressed by the client itself.
+     */
+    APACHE,
+
+    /**
+     * {@code java.net.http.HttpClient}, which negotiates HTTP/2 and multiplexes requests over one
+     * connection per host. Its pool is internal, so no pool metrics are exported.
+     */
+    JDK
+}
@@ -0,0 +1,46 @@
+package com.gler.assignment.config;
+
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooling connection manager that records how long each request waited for a pooled connection.
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer acquireTimer;
+
+    InstrumentedConnectionManager(Timer acquireTimer) {
+        this.acquireTimer = acquireTimer;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return lease.get(timeout);
+                } finally {
+                    acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.gler.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson converter that records how long each response body took to read and deserialize and
+ * how many decoded bytes it had.
+ */
+class MeteredJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Timer readTimer;
+    private final DistributionSummary payloadSizes;
+
+    MeteredJsonHttpMessageConverter(ObjectMapper objectMapper, Timer readTimer, DistributionSummary payloadSizes) {
+        super(objectMapper);
+        this.readTimer = readTimer;
+        this.payloadSizes = payloadSizes;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        CountingInputMessage countingMessage = new CountingInputMessage(inputMessage);
+        long start = System.nanoTime();
+        try {
+            return super.read(type, contextClass, countingMessage);
+        } finally {
+            readTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            payloadSizes.record(countingMessage.bytesRead());
+        }
+    }
+
+    private static final class CountingInputMessage implements HttpInputMessage {
+
+        private final HttpInputMessage delegate;
+        private long bytesRead;
+
+        private CountingInputMessage(HttpInputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return new FilterInputStream(delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0)
+                        bytesRead++;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n > 0)
+                        bytesRead += n;
+                    return n;
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        long bytesRead() {
+            return bytesRead;
+        }
+    }
+}
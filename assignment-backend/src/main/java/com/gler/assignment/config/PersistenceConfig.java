@@ -0,0 +1,41 @@
+package com.gler.assignment.config;
+
+import com.gler.assignment.entities.ForecastEntity;
+import com.gler.assignment.entities.TextReplaceEntity;
+import com.gler.assignment.persistence.ForecastUpserter;
+import com.gler.assignment.persistence.TextReplaceUpserter;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public WriteBehindQueue<ForecastEntity> forecastWriteQueue(
+            ForecastUpserter forecastUpserter,
+            MeterRegistry meterRegistry,
+            @Value("${forecast.persistence.queue-capacity:10000}") int capacity,
+            @Value("${forecast.persistence.batch-size:50}") int batchSize,
+            @Value("${forecast.persistence.flush-interval:200ms}") Duration flushInterval,
+            @Value("${forecast.persistence.offer-timeout:50ms}") Duration offerTimeout) {
+        return new WriteBehindQueue<>("forecasts", forecastUpserter,
+                capacity, batchSize, flushInterval, offerTimeout, meterRegistry);
+    }
+
+    @Bean
+    public WriteBehindQueue<TextReplaceEntity> textReplaceWriteQueue(
+            TextReplaceUpserter textReplaceUpserter,
+            MeterRegistry meterRegistry,
+            @Value("${text.audit.queue-capacity:10000}") int capacity,
+            @Value("${text.audit.batch-size:100}") int batchSize,
+            @Value("${text.audit.flush-interval:20ms}") Duration flushInterval,
+            @Value("${text.audit.offer-timeout:50ms}") Duration offerTimeout) {
+        return new WriteBehindQueue<>("text-replacements", textReplaceUpserter,
+                capacity, batchSize, flushInterval, offerTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.gler.assignment.config;
+
+import com.gler.assignment.client.AdaptiveConcurrencyLimiter;
+import com.gler.assignment.client.RequestHedger;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Circuit breaker, bulkhead and adaptive concurrency limiter shared by the blocking and the
+ * reactive Open-Meteo clients, plus the request hedger of the blocking one. State, call outcomes
+ * and permits are exported as {@code resilience4j.circuitbreaker.*},
+ * {@code resilience4j.bulkhead.*}, {@code openmeteo.concurrency.*} and {@code openmeteo.hedge.*};
+ * every breaker state change also increments {@value #TRANSITIONS_METRIC}.
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    public static final String OPEN_METEO = "openmeteo";
+
+    static final String TRANSITIONS_METRIC = "resilience4j.circuitbreaker.transitions";
+
+    @Bean
+    public CircuitBreaker openMeteoCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${openmeteo.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${openmeteo.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${openmeteo.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${openmeteo.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${openmeteo.circuit-breaker.wait-in-open-state:30s}") Duration waitInOpenState,
+            @Value("${openmeteo.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(OPEN_METEO);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Open-Meteo circuit breaker changed state: {}", event.getStateTransition());
+            Counter.builder(TRANSITIONS_METRIC)
+                    .description("Circuit breaker state transitions")
+                    .tag("name", event.getCircuitBreakerName())
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead openMeteoBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${openmeteo.bulkhead.max-wait:0ms}") Duration maxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(OPEN_METEO);
+    }
+
+    /**
+     * Adapts the number of concurrent upstream calls below the bulkhead, which remains the hard
+     * ceiling. Being a {@code MeterBinder}, its meters are bound by the metrics auto-configuration.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter openMeteoConcurrencyLimiter(
+            @Value("${openmeteo.concurrency.initial-limit:10}") int initialLimit,
+            @Value("${openmeteo.concurrency.min-limit:2}") int minLimit,
+            @Value("${openmeteo.concurrency.max-limit:20}") int maxLimit,
+            @Value("${openmeteo.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${openmeteo.concurrency.max-wait:50ms}") Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter(OPEN_METEO, initialLimit, minLimit, maxLimit, smoothing, maxWait);
+    }
+
+    @Bean
+    public RequestHedger openMeteoRequestHedger(
+            @Qualifier(ExecutorConfig.OPEN_METEO_HEDGE_EXECUTOR) Executor executor,
+            @Value("${openmeteo.hedge.enabled:true}") boolean enabled,
+            @Value("${openmeteo.hedge.percentile:0.95}") double percentile,
+            @Value("${openmeteo.hedge.initial-delay:500ms}") Duration initialDelay,
+            @Value("${openmeteo.hedge.min-delay:50ms}") Duration minDelay,
+            @Value("${openmeteo.hedge.budget-percent:5}") double budgetPercent) {
+        return enabled
+                ? new RequestHedger(executor, percentile, initialDelay, minDelay, budgetPercent / 100)
+                : RequestHedger.disabled();
+    }
+}
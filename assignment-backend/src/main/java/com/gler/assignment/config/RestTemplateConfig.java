@@ -1,20 +1,119 @@
 package com.gler.assignment.config;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    static final String POOL_NAME = "openmeteo";
+    static final String ACQUIRE_METRIC = "openmeteo.http.pool.acquire";
+    static final String READ_METRIC = "openmeteo.response.read";
+    static final String SIZE_METRIC = "openmeteo.response.size";
+
+    /**
+     * Upstream RestTemplate. Its JSON converter records the time spent reading and deserializing
+     * each response as {@value #READ_METRIC} and the decoded body size as {@value #SIZE_METRIC};
+     * the exchange as a whole is timed by Spring Boot as {@code http.client.requests}.
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            ClientHttpRequestFactory openMeteoRequestFactory,
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.http.compression:true}") boolean compression) {
+        builder = builder.requestFactory(() -> openMeteoRequestFactory);
+        if (openMeteoRequestFactory instanceof JdkClientHttpRequestFactory && compression)
+            builder = builder.additionalInterceptors(new GzipDecompressingInterceptor());
+        RestTemplate restTemplate = builder.build();
+        Timer readTimer = Timer.builder(READ_METRIC)
+                .description("Time spent reading and deserializing Open-Meteo responses")
+                .register(meterRegistry);
+        DistributionSummary payloadSizes = DistributionSummary.builder(SIZE_METRIC)
+                .description("Decoded size of Open-Meteo response bodies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        restTemplate.getMessageConverters().replaceAll(converter ->
+                converter instanceof MappingJackson2HttpMessageConverter jackson
+                        ? new MeteredJsonHttpMessageConverter(jackson.getObjectMapper(), readTimer, payloadSizes)
+                        : converter);
+        return restTemplate;
+    }
+
+    /**
+     * Request factory behind {@link #restTemplate}. With the Apache client, connections are pooled
+     * per route and idle ones are evicted in the background; pool occupancy is exported as
+     * {@code httpcomponents.httpclient.pool.*} and the wait for a connection as
+     * {@value #ACQUIRE_METRIC}. {@code http2} only applies to the JDK client; the Apache client speaks
+     * HTTP/1.1 and warns when it is set.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .connectTimeout(Duration.ofSeconds(10))
-                .readTimeout(Duration.ofSeconds(10))
-                .build();
+    public ClientHttpRequestFactory openMeteoRequestFactory(
+            MeterRegistry meterRegistry,
+            @Value("${openmeteo.http.client:apache}") HttpClientType clientType,
+            @Value("${openmeteo.http.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${openmeteo.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${openmeteo.http.max-connections:100}") int maxConnections,
+            @Value("${openmeteo.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${openmeteo.http.idle-eviction:30s}") Duration idleEviction,
+            @Value("${openmeteo.http.http2:false}") boolean http2,
+            @Value("${openmeteo.http.compression:true}") boolean compression) {
+        if (clientType == HttpClientType.JDK) {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(connectTimeout)
+                    .build());
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+        if (http2)
+            log.warn("openmeteo.http.http2 is ignored: the Apache client only speaks HTTP/1.1, use openmeteo.http.client=jdk");
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(
+                Timer.builder(ACQUIRE_METRIC)
+                        .description("Time spent waiting for a pooled Open-Meteo connection")
+                        .tag("pool", POOL_NAME)
+                        .register(meterRegistry));
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        HttpClientBuilder httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction));
+        if (!compression)
+            httpClient.disableContentCompression();
+        CloseableHttpClient client = httpClient.build();
+        return new HttpComponentsClientHttpRequestFactory(client);
     }
-}
\ No newline at end of file
+}
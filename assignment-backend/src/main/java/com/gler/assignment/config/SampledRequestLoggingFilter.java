@@ -0,0 +1,73 @@
+package com.gler.assignment.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one in {@code 1 / sampleRate} requests with its method, path, status and duration as
+ * key-value pairs. Async requests are logged when their last dispatch completes.
+ */
+@Slf4j
+@Component
+public class SampledRequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final String START_ATTRIBUTE = SampledRequestLoggingFilter.class.getName() + ".start";
+
+    private final double sampleRate;
+
+    public SampledRequestLoggingFilter(@Value("${logging.requests.sample-rate:0.01}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1)
+            throw new IllegalArgumentException("Request log sample rate must be in [0, 1]");
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null && !isAsyncDispatch(request) && sampled()) {
+            start = System.nanoTime();
+            request.setAttribute(START_ATTRIBUTE, start);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (start != null && !request.isAsyncStarted())
+                logRequest(request, response, start);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static void logRequest(HttpServletRequest request, HttpServletResponse response, long start) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.atInfo()
+                .setMessage("{} {} -> {} in {} ms")
+                .addArgument(request.getMethod())
+                .addArgument(request.getRequestURI())
+                .addArgument(response.getStatus())
+                .addArgument(durationMs)
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.status", response.getStatus())
+                .addKeyValue("duration.ms", durationMs)
+                .log();
+    }
+}
@@ -2,14 +2,21 @@ package com.gler.assignment.controllers;
 
 import com.gler.assignment.dto.ForecastRequestDto;
 import com.gler.assignment.dto.ForecastResponseDto;
+import com.gler.assignment.services.BulkForecastService;
 import com.gler.assignment.services.ForecastService;
+import com.gler.assignment.services.ReactiveForecastService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/api/v1/forecasts")
@@ -19,9 +26,24 @@ import org.springframework.web.bind.annotation.*;
 public class ForecastController {
 
     private final ForecastService forecastService;
+    private final BulkForecastService bulkForecastService;
+    private final ReactiveForecastService reactiveForecastService;
 
     @PostMapping
     public ResponseEntity<ForecastResponseDto> getForecast(@Valid @RequestBody ForecastRequestDto request) {
         return ResponseEntity.status(HttpStatus.OK).body(forecastService.processForecast(request));
     }
+
+    @PostMapping("/reactive")
+    public Mono<ForecastResponseDto> getForecastReactive(@Valid @RequestBody ForecastRequestDto request) {
+        return reactiveForecastService.processForecast(request);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> getForecasts(@RequestBody List<@Valid ForecastRequestDto> requests) {
+        bulkForecastService.checkRequests(requests);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bulkForecastService.streamForecasts(requests, out));
+    }
 }
\ No newline at end of file
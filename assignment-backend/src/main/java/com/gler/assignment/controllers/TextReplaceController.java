@@ -1,12 +1,21 @@
 package com.gler.assignment.controllers;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.gler.assignment.dto.TextReplaceDto;
+import com.gler.assignment.dto.TextReplaceHistoryPageDto;
+import com.gler.assignment.services.BulkTextReplaceService;
+import com.gler.assignment.services.TextReplaceHistoryService;
 import com.gler.assignment.services.TextReplaceService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping(path = "/api/v1/texts")
 @RequiredArgsConstructor
@@ -14,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 public class TextReplaceController {
 
     private final TextReplaceService textReplaceService;
+    private final TextReplaceHistoryService textReplaceHistoryService;
+    private final BulkTextReplaceService bulkTextReplaceService;
 
     @GetMapping("/replace")
     public ResponseEntity<TextReplaceDto> replaceText(@RequestParam String text) {
@@ -27,4 +38,33 @@ public class TextReplaceController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // The bulk endpoints and the export are written on the request thread rather than as a
+    // StreamingResponseBody, so that a long job is not cut off by the async request timeout.
+    @PostMapping(path = "/replace/bulk", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public void replaceTextLines(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkTextReplaceService.replaceLines(request.getInputStream(), response.getOutputStream());
+    }
+
+    @PostMapping(path = "/replace/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void replaceTextArray(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (JsonParser texts = bulkTextReplaceService.openJsonArray(request.getInputStream())) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            bulkTextReplaceService.replaceJsonArray(texts, response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<TextReplaceHistoryPageDto> getHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(textReplaceHistoryService.getHistory(cursor, limit));
+    }
+
+    @GetMapping("/history/export")
+    public void exportHistory(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        textReplaceHistoryService.exportHistory(response.getOutputStream());
+    }
+}
@@ -0,0 +1,19 @@
+package com.gler.assignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkForecastResultDto {
+
+    private int index;
+    private ForecastResponseDto forecast;
+    private ErrorResponse error;
+}
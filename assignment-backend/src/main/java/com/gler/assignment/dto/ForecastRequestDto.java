@@ -1,5 +1,7 @@
 package com.gler.assignment.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,4 +22,12 @@ public class ForecastRequestDto {
 
     @NotNull(message = "addWindSpeed field is mandatory")
     private Boolean addWindSpeed;
+
+    @DecimalMin(value = "-90.0", message = "latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "longitude must be between -180 and 180")
+    private Double longitude;
 }
\ No newline at end of file
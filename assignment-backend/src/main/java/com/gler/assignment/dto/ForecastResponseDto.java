@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
@@ -13,7 +14,12 @@ import java.time.LocalDate;
 public class ForecastResponseDto {
 
     private LocalDate date;
+    private Double latitude;
+    private Double longitude;
     private Double maxTemperature;
     private Double maxHumidity;
     private Double maxWindSpeed;
+    private Instant dataFetchedAt;
+    private Long dataAgeSeconds;
+    private Boolean stale;
 }
\ No newline at end of file
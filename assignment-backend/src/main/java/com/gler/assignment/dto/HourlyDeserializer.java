@@ -0,0 +1,184 @@
+package com.gler.assignment.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Streams the Open-Meteo {@code hourly} block straight into primitive arrays. Null samples become
+ * {@link Double#NaN} or {@link OpenMeteoApiResponse.Hourly#MISSING_INT}, ISO timestamps become
+ * epoch seconds, and series the client did not request are skipped without being materialized.
+ */
+public class HourlyDeserializer extends StdDeserializer<OpenMeteoApiResponse.Hourly> {
+
+    private static final int INITIAL_CAPACITY = 192;
+
+    public HourlyDeserializer() {
+        super(OpenMeteoApiResponse.Hourly.class);
+    }
+
+    @Override
+    public OpenMeteoApiResponse.Hourly deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken())
+            return (OpenMeteoApiResponse.Hourly) context.handleUnexpectedToken(OpenMeteoApiResponse.Hourly.class, parser);
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        // Every series has one sample per timestamp, so the first array parsed sizes the others exactly.
+        int expectedSize = INITIAL_CAPACITY;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            int parsedSize = 0;
+            switch (field) {
+                case "time" -> {
+                    long[] time = readEpochSeconds(parser, context, expectedSize);
+                    hourly.setTime(time);
+                    parsedSize = time == null ? 0 : time.length;
+                }
+                case "temperature_2m" -> {
+                    double[] temperatures = readDoubles(parser, context, expectedSize);
+                    hourly.setTemperature2m(temperatures);
+                    parsedSize = temperatures == null ? 0 : temperatures.length;
+                }
+                case "relative_humidity_2m" -> {
+                    int[] humidities = readInts(parser, context, expectedSize);
+                    hourly.setRelativeHumidity2m(humidities);
+                    parsedSize = humidities == null ? 0 : humidities.length;
+                }
+                case "wind_speed_10m" -> {
+                    double[] windSpeeds = readDoubles(parser, context, expectedSize);
+                    hourly.setWindSpeed10m(windSpeeds);
+                    parsedSize = windSpeeds == null ? 0 : windSpeeds.length;
+                }
+                default -> parser.skipChildren();
+            }
+            if (parsedSize > 0)
+                expectedSize = parsedSize;
+        }
+        return hourly;
+    }
+
+    private double[] readDoubles(JsonParser parser, DeserializationContext context, int expectedSize) throws IOException {
+        if (!startArray(parser, context, double[].class))
+            return null;
+        double[] values = new double[expectedSize];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size << 1);
+            if (token == JsonToken.VALUE_NULL)
+                values[size++] = Double.NaN;
+            else if (token.isNumeric())
+                values[size++] = parser.getDoubleValue();
+            else
+                return (double[]) context.handleUnexpectedToken(double[].class, parser);
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private int[] readInts(JsonParser parser, DeserializationContext context, int expectedSize) throws IOException {
+        if (!startArray(parser, context, int[].class))
+            return null;
+        int[] values = new int[expectedSize];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size << 1);
+            if (token == JsonToken.VALUE_NULL)
+                values[size++] = OpenMeteoApiResponse.Hourly.MISSING_INT;
+            else if (token == JsonToken.VALUE_NUMBER_INT)
+                values[size++] = parser.getIntValue();
+            else if (token == JsonToken.VALUE_NUMBER_FLOAT)
+                values[size++] = (int) Math.round(parser.getDoubleValue());
+            else
+                return (int[]) context.handleUnexpectedToken(int[].class, parser);
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private long[] readEpochSeconds(JsonParser parser, DeserializationContext context, int expectedSize) throws IOException {
+        if (!startArray(parser, context, long[].class))
+            return null;
+        long[] values = new long[expectedSize];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size << 1);
+            if (token == JsonToken.VALUE_STRING)
+                values[size++] = parseEpochSeconds(parser);
+            else if (token == JsonToken.VALUE_NUMBER_INT)
+                values[size++] = parser.getLongValue();
+            else
+                return (long[]) context.handleUnexpectedToken(long[].class, parser);
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private boolean startArray(JsonParser parser, DeserializationContext context, Class<?> type) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL)
+            return false;
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+            context.handleUnexpectedToken(type, parser);
+        return true;
+    }
+
+    /**
+     * Parses Open-Meteo's {@code yyyy-MM-ddTHH:mm[:ss]} wall-clock timestamps from the parser's
+     * character buffer without creating a String. Other shapes fall back to {@link LocalDateTime}.
+     */
+    static long parseEpochSeconds(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if ((length == 16 || length == 19)
+                && chars[offset + 4] == '-' && chars[offset + 7] == '-' && chars[offset + 10] == 'T'
+                && chars[offset + 13] == ':' && (length == 16 || chars[offset + 16] == ':')) {
+            int year = digits(chars, offset, 4);
+            int month = digits(chars, offset + 5, 2);
+            int day = digits(chars, offset + 8, 2);
+            int hour = digits(chars, offset + 11, 2);
+            int minute = digits(chars, offset + 14, 2);
+            int second = length == 19 ? digits(chars, offset + 17, 2) : 0;
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60)
+                return epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+        }
+        return LocalDateTime.parse(parser.getText()).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Same proleptic Gregorian arithmetic as LocalDate.toEpochDay, without the object.
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long m = month;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * m - 362) / 12;
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            if (!leap)
+                total--;
+        }
+        return total - 719_528L;
+    }
+}
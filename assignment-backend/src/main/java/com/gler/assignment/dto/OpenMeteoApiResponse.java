@@ -2,11 +2,11 @@ package com.gler.assignment.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.util.List;
 
 @Data
 @Builder
@@ -91,17 +91,20 @@ public class OpenMeteoApiResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonDeserialize(using = HourlyDeserializer.class)
     public static class Hourly {
-        private List<String> time;
+
+        public static final int MISSING_INT = Integer.MIN_VALUE;
+
+        private long[] time;
 
         @JsonProperty("temperature_2m")
-        private List<Double> temperature2m;
+        private double[] temperature2m;
 
         @JsonProperty("relative_humidity_2m")
-        private List<Integer> relativeHumidity2m;
+        private int[] relativeHumidity2m;
 
         @JsonProperty("wind_speed_10m")
-        private List<Double> windSpeed10m;
+        private double[] windSpeed10m;
     }
 }
\ No newline at end of file
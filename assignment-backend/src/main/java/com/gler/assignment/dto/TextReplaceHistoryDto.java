@@ -0,0 +1,21 @@
+package com.gler.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextReplaceHistoryDto {
+    private Long id;
+    private String originalText;
+    private String replacedText;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastSeenAt;
+    private Long hitCount;
+}
@@ -0,0 +1,17 @@
+package com.gler.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextReplaceHistoryPageDto {
+    private List<TextReplaceHistoryDto> items;
+    private String nextCursor;
+}
@@ -19,12 +19,19 @@ import java.time.LocalDateTime;
 public class ForecastEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "forecasts_seq")
+    @SequenceGenerator(name = "forecasts_seq", sequenceName = "forecasts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private LocalDate forecastDate;
 
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
     @Column(name = "max_temperature")
     private Double maxTemperature;
 
@@ -8,6 +8,9 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 
 @Entity
@@ -25,10 +28,47 @@ public class TextReplaceEntity {
     @Column(nullable = false, length = 1000)
     private String originalText;
 
+    /**
+     * SHA-256 of the UTF-8 bytes of {@link #originalText}. Lookups by text go through the index on
+     * this column and then compare the text itself.
+     */
+    @Column(nullable = false, length = 32)
+    private byte[] originalTextHash;
+
     @Column(nullable = false, length = 1000)
     private String replacedText;
 
+    /**
+     * When the text was first seen.
+     */
     @Column(nullable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    @Column(nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * How many times the text has been submitted. Incremented by the write-behind upsert.
+     */
+    @Column(nullable = false)
+    private Long hitCount;
+
+    @PrePersist
+    void fillDerivedColumns() {
+        if (originalTextHash == null)
+            originalTextHash = hashOf(originalText);
+        if (lastSeenAt == null)
+            lastSeenAt = createdAt != null ? createdAt : LocalDateTime.now();
+        if (hitCount == null)
+            hitCount = 1L;
+    }
+
+    public static byte[] hashOf(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
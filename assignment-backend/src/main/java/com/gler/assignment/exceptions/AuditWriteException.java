@@ -0,0 +1,12 @@
+package com.gler.assignment.exceptions;
+
+public class AuditWriteException extends RuntimeException {
+
+    public AuditWriteException(String message) {
+        super(message);
+    }
+
+    public AuditWriteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gler.assignment.exceptions;
+
+/**
+ * The upstream call was not attempted because the circuit breaker is open or too many calls are
+ * already in flight.
+ */
+public class UpstreamUnavailableException extends UpstreamApiException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,63 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.ForecastEntity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the values last submitted for each day and grid cell, so that requests for unchanged
+ * data never reach the write queue. A write that fails is forgotten again, so the next request for
+ * that cell retries it.
+ */
+@Component
+public class ForecastFingerprints {
+
+    private final ConcurrentMap<ForecastKey, Values> lastSubmitted;
+    private final Counter skipped;
+
+    public ForecastFingerprints(
+            @Value("${forecast.persistence.fingerprint-cache-size:100000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("forecast.persistence.fingerprint-cache-size must be positive");
+        this.lastSubmitted = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .<ForecastKey, Values>build()
+                .asMap();
+        this.skipped = Counter.builder("forecast.writes.skipped")
+                .description("Forecast writes skipped because the stored values were unchanged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the values of {@code entity} and returns whether they differ from the last ones
+     * submitted for the same day and cell.
+     */
+    public boolean markIfChanged(ForecastEntity entity) {
+        Values values = Values.of(entity);
+        if (values.equals(lastSubmitted.put(ForecastKey.of(entity), values))) {
+            skipped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops the fingerprint of {@code entity}, unless newer values were submitted since.
+     */
+    public void forget(ForecastEntity entity) {
+        lastSubmitted.remove(ForecastKey.of(entity), Values.of(entity));
+    }
+
+    private record Values(Double maxTemperature, Double maxHumidity, Double maxWindSpeed) {
+
+        static Values of(ForecastEntity entity) {
+            return new Values(entity.getMaxTemperature(), entity.getMaxHumidity(), entity.getMaxWindSpeed());
+        }
+    }
+}
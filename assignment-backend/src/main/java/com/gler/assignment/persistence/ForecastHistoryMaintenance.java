@@ -0,0 +1,93 @@
+package com.gler.assignment.persistence;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the month-partitioned {@code forecasts} table in shape. Each run creates the partitions
+ * for the current month and {@code partitionsAhead} months after it, recomputes the daily rollup
+ * of yesterday and today, and drops the partitions older than {@code retentionMonths} full months.
+ * The work itself is done by SQL functions from the {@code db/migration} scripts.
+ */
+@Slf4j
+@Component
+public class ForecastHistoryMaintenance {
+
+    static final String CREATE_PARTITIONS = "SELECT create_forecast_partitions(?, ?)";
+    static final String ROLLUP = "SELECT rollup_forecasts(?)";
+    static final String DROP_PARTITIONS = "SELECT drop_forecast_partitions_before(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ForecastHistoryMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${forecast.history.partitions-ahead:3}") int partitionsAhead,
+            @Value("${forecast.history.retention-months:12}") int retentionMonths,
+            @Value("${forecast.history.maintenance-interval:1h}") Duration interval) {
+        this(jdbcTemplate, partitionsAhead, retentionMonths, Clock.systemDefaultZone(),
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "forecast-history-maintenance");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        if (interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("forecast.history.maintenance-interval must be positive");
+        scheduler.scheduleWithFixedDelay(this::runMaintenance, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ForecastHistoryMaintenance(
+            JdbcTemplate jdbcTemplate,
+            int partitionsAhead,
+            int retentionMonths,
+            Clock clock,
+            ScheduledExecutorService scheduler) {
+        if (partitionsAhead < 1)
+            throw new IllegalArgumentException("forecast.history.partitions-ahead must be at least 1");
+        if (retentionMonths < 1)
+            throw new IllegalArgumentException("forecast.history.retention-months must be at least 1");
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionsAhead = partitionsAhead;
+        this.retentionMonths = retentionMonths;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    void runMaintenance() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        try {
+            Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS, Integer.class,
+                    currentMonth, partitionsAhead + 1);
+            jdbcTemplate.queryForObject(ROLLUP, Integer.class, today.minusDays(1));
+            jdbcTemplate.queryForObject(ROLLUP, Integer.class, today);
+            Integer dropped = jdbcTemplate.queryForObject(DROP_PARTITIONS, Integer.class,
+                    currentMonth.minusMonths(retentionMonths));
+            log.debug("Forecast history maintenance created {} and dropped {} partitions", created, dropped);
+        } catch (DataAccessException e) {
+            log.warn("Forecast history maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+}
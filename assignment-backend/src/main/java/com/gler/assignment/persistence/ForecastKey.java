@@ -0,0 +1,26 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.ForecastEntity;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * The unique key of a stored forecast: one row per day and grid cell. Keys order like the unique
+ * index on {@code (forecast_date, latitude, longitude)}.
+ */
+record ForecastKey(LocalDate forecastDate, double latitude, double longitude) implements Comparable<ForecastKey> {
+
+    private static final Comparator<ForecastKey> ORDER = Comparator.comparing(ForecastKey::forecastDate)
+            .thenComparingDouble(ForecastKey::latitude)
+            .thenComparingDouble(ForecastKey::longitude);
+
+    static ForecastKey of(ForecastEntity entity) {
+        return new ForecastKey(entity.getForecastDate(), entity.getLatitude(), entity.getLongitude());
+    }
+
+    @Override
+    public int compareTo(ForecastKey other) {
+        return ORDER.compare(this, other);
+    }
+}
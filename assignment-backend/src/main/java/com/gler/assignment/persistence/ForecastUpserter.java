@@ -0,0 +1,72 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.ForecastEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Writes a batch of forecasts with a single multi-row upsert keyed by day and grid cell. An
+ * existing row is only rewritten when one of its values changed. Within a batch the last forecast
+ * for a key wins, since one statement may not update the same row twice. Rows are written in key
+ * order, so that concurrent writers lock them in the same order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ForecastUpserter implements Consumer<List<ForecastEntity>> {
+
+    static final String INSERT_PREFIX = "INSERT INTO forecasts AS f (id, forecast_date, latitude, longitude, "
+            + "max_temperature, max_humidity, max_wind_speed, created_at) VALUES ";
+    static final String ON_CONFLICT = " ON CONFLICT (forecast_date, latitude, longitude) DO UPDATE SET "
+            + "max_temperature = EXCLUDED.max_temperature, max_humidity = EXCLUDED.max_humidity, "
+            + "max_wind_speed = EXCLUDED.max_wind_speed "
+            + "WHERE (f.max_temperature, f.max_humidity, f.max_wind_speed) "
+            + "IS DISTINCT FROM (EXCLUDED.max_temperature, EXCLUDED.max_humidity, EXCLUDED.max_wind_speed)";
+
+    private static final String ROW = "(nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void accept(List<ForecastEntity> rows) {
+        if (rows.isEmpty())
+            return;
+        Collection<ForecastEntity> latest = latestPerKey(rows);
+        StringBuilder sql = new StringBuilder(
+                INSERT_PREFIX.length() + latest.size() * (ROW.length() + 2) + ON_CONFLICT.length())
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[latest.size() * COLUMNS];
+        int arg = 0;
+        for (ForecastEntity row : latest) {
+            if (arg > 0)
+                sql.append(", ");
+            sql.append(ROW);
+            LocalDateTime createdAt = row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now();
+            args[arg++] = Date.valueOf(row.getForecastDate());
+            args[arg++] = row.getLatitude();
+            args[arg++] = row.getLongitude();
+            args[arg++] = row.getMaxTemperature();
+            args[arg++] = row.getMaxHumidity();
+            args[arg++] = row.getMaxWindSpeed();
+            args[arg++] = Timestamp.valueOf(createdAt);
+        }
+        jdbcTemplate.update(sql.append(ON_CONFLICT).toString(), args);
+    }
+
+    private static Collection<ForecastEntity> latestPerKey(List<ForecastEntity> rows) {
+        Map<ForecastKey, ForecastEntity> latest = new TreeMap<>();
+        for (ForecastEntity row : rows)
+            latest.put(ForecastKey.of(row), row);
+        return latest.values();
+    }
+}
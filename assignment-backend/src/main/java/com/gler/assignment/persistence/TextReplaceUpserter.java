@@ -0,0 +1,112 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.TextReplaceEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes a batch of text replacement audits with a single multi-row upsert keyed by the hash of
+ * the text. The batch is first collapsed to one row per distinct text, carrying its number of hits
+ * and the time range they span, so a text repeated throughout the batch costs one row update.
+ * Rows are written in hash order, so that concurrent writers lock them in the same order. The
+ * hashes are computed here, on the writer thread, rather than on the request path.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextReplaceUpserter implements Consumer<List<TextReplaceEntity>> {
+
+    static final String INSERT_PREFIX = "INSERT INTO text_replacements AS t (original_text, original_text_hash, "
+            + "replaced_text, created_at, last_seen_at, hit_count) VALUES ";
+    static final String ON_CONFLICT = " ON CONFLICT (original_text_hash) DO UPDATE SET "
+            + "hit_count = t.hit_count + EXCLUDED.hit_count, "
+            + "last_seen_at = GREATEST(t.last_seen_at, EXCLUDED.last_seen_at), "
+            + "replaced_text = EXCLUDED.replaced_text";
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void accept(List<TextReplaceEntity> rows) {
+        if (rows.isEmpty())
+            return;
+        List<Hits> distinct = collapse(rows);
+        StringBuilder sql = new StringBuilder(
+                INSERT_PREFIX.length() + distinct.size() * (ROW.length() + 2) + ON_CONFLICT.length())
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[distinct.size() * COLUMNS];
+        int arg = 0;
+        for (Hits hits : distinct) {
+            if (arg > 0)
+                sql.append(", ");
+            sql.append(ROW);
+            args[arg++] = hits.originalText;
+            args[arg++] = hits.hash;
+            args[arg++] = hits.replacedText;
+            args[arg++] = Timestamp.valueOf(hits.firstSeen);
+            args[arg++] = Timestamp.valueOf(hits.lastSeen);
+            args[arg++] = hits.count;
+        }
+        jdbcTemplate.update(sql.append(ON_CONFLICT).toString(), args);
+    }
+
+    private static List<Hits> collapse(List<TextReplaceEntity> rows) {
+        Map<String, Hits> byText = new HashMap<>(rows.size() * 2);
+        for (TextReplaceEntity row : rows) {
+            LocalDateTime seenAt = row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now();
+            long count = row.getHitCount() != null ? row.getHitCount() : 1;
+            Hits hits = byText.get(row.getOriginalText());
+            if (hits == null) {
+                byText.put(row.getOriginalText(), new Hits(row, seenAt, count));
+            } else {
+                hits.add(row, seenAt, count);
+            }
+        }
+        List<Hits> distinct = new ArrayList<>(byText.values());
+        distinct.sort(Comparator.comparing(hits -> hits.hash, Arrays::compareUnsigned));
+        return distinct;
+    }
+
+    private static final class Hits {
+
+        private final String originalText;
+        private final byte[] hash;
+        private String replacedText;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+        private long count;
+
+        private Hits(TextReplaceEntity row, LocalDateTime seenAt, long count) {
+            this.originalText = row.getOriginalText();
+            this.hash = row.getOriginalTextHash() != null
+                    ? row.getOriginalTextHash()
+                    : TextReplaceEntity.hashOf(row.getOriginalText());
+            this.replacedText = row.getReplacedText();
+            this.firstSeen = seenAt;
+            this.lastSeen = seenAt;
+            this.count = count;
+        }
+
+        private void add(TextReplaceEntity row, LocalDateTime seenAt, long count) {
+            if (seenAt.isBefore(firstSeen))
+                firstSeen = seenAt;
+            if (!seenAt.isBefore(lastSeen)) {
+                lastSeen = seenAt;
+                replacedText = row.getReplacedText();
+            }
+            this.count += count;
+        }
+    }
+}
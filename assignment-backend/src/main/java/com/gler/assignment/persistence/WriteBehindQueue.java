@@ -0,0 +1,183 @@
+package com.gler.assignment.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Buffers writes in a bounded queue and hands them to {@code sink} in batches from a single writer
+ * thread. A batch is written once it holds {@code batchSize} items or {@code flushInterval} after
+ * its first item arrived. When the queue stays full for {@code offerTimeout} the caller writes its
+ * own item, which slows producers down to the speed of the store instead of dropping data.
+ * {@link #close()} stops the writer after everything already queued has been written.
+ */
+@Slf4j
+public final class WriteBehindQueue<T> implements AutoCloseable {
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String name;
+    private final Consumer<List<T>> sink;
+    private final BlockingQueue<Pending<T>> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Thread writer;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter callerRuns;
+    private final Timer writeTimer;
+
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(
+            String name,
+            Consumer<List<T>> sink,
+            int capacity,
+            int batchSize,
+            Duration flushInterval,
+            Duration offerTimeout,
+            MeterRegistry meterRegistry) {
+        if (capacity <= 0 || batchSize <= 0)
+            throw new IllegalArgumentException("Write-behind queue capacity and batch size must be positive");
+        if (flushInterval.isNegative() || offerTimeout.isNegative())
+            throw new IllegalArgumentException("Write-behind queue timeouts must not be negative");
+        this.name = name;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        Gauge.builder("writebehind.queue.size", queue, BlockingQueue::size)
+                .tag("queue", name)
+                .register(meterRegistry);
+        this.written = Counter.builder("writebehind.items.written").tag("queue", name).register(meterRegistry);
+        this.failed = Counter.builder("writebehind.items.failed").tag("queue", name).register(meterRegistry);
+        this.callerRuns = Counter.builder("writebehind.caller.runs").tag("queue", name).register(meterRegistry);
+        this.writeTimer = Timer.builder("writebehind.write")
+                .description("Time the sink took to store one batch")
+                .tag("queue", name)
+                .register(meterRegistry);
+        this.writer = new Thread(this::drain, "write-behind-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues {@code item} and returns a future that completes once the batch holding it has been
+     * written, or fails with the sink's exception.
+     */
+    public CompletableFuture<Void> submit(T item) {
+        Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+        try {
+            if (running && queue.offer(pending, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                // close() may have made its final drain between the check and the offer.
+                if (!running)
+                    writeRemaining(new ArrayList<>(batchSize));
+                return pending.written();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerRuns.increment();
+        write(List.of(pending));
+        return pending.written();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive())
+            log.warn("Write-behind queue {} did not drain within 30 seconds, {} items pending", name, queue.size());
+        else
+            writeRemaining(new ArrayList<>(batchSize));
+    }
+
+    private void drain() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        writeRemaining(batch);
+    }
+
+    // Also run by close() once the writer has exited, and by submit() after a close, for items
+    // submitted while it was stopping.
+    private void writeRemaining(List<Pending<T>> batch) {
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void fillBatch(List<Pending<T>> batch) throws InterruptedException {
+        Pending<T> first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+        if (first == null)
+            return;
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize && running) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0)
+                continue;
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+                return;
+            // Bounded so that close() is noticed even under a long flush interval.
+            Pending<T> next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null)
+                batch.add(next);
+        }
+    }
+
+    private void write(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch)
+            items.add(pending.item());
+        long start = System.nanoTime();
+        try {
+            sink.accept(items);
+            written.increment(items.size());
+            for (Pending<T> pending : batch)
+                pending.written().complete(null);
+        } catch (RuntimeException e) {
+            log.error("Write-behind queue {} failed to write {} items: {}", name, items.size(), e.getMessage(), e);
+            failed.increment(items.size());
+            for (Pending<T> pending : batch)
+                pending.written().completeExceptionally(e);
+        } finally {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record Pending<T>(T item, CompletableFuture<Void> written) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.gler.assignment.persistence;
+
+public enum WriteDurability {
+
+    /**
+     * The request returns once the write is queued; a failed batch is only logged and counted.
+     */
+    FIRE_AND_FORGET,
+
+    /**
+     * The request waits until the batch holding its write has been committed, so concurrent
+     * requests share one commit but each still learns whether its row was stored.
+     */
+    GROUP_COMMIT
+}
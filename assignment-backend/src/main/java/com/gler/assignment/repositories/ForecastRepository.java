@@ -1,10 +0,0 @@
-package com.gler.assignment.repositories;
-
-import com.gler.assignment.entities.ForecastEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface ForecastRepository extends JpaRepository<ForecastEntity, Long> {
-
-}
\ No newline at end of file
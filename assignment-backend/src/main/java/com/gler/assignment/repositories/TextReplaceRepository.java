@@ -1,12 +1,51 @@
 package com.gler.assignment.repositories;
 
+import com.gler.assignment.dto.TextReplaceHistoryDto;
 import com.gler.assignment.entities.TextReplaceEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TextReplaceRepository extends JpaRepository<TextReplaceEntity, Long> {
-    List<TextReplaceEntity> findByOriginalText(String originalText);
-    List<TextReplaceEntity> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+    /**
+     * Newest rows first, read from the {@code (created_at, id)} index.
+     */
+    @Query("SELECT new com.gler.assignment.dto.TextReplaceHistoryDto(t.id, t.originalText, t.replacedText, "
+            + "t.createdAt, t.lastSeenAt, t.hitCount) "
+            + "FROM TextReplaceEntity t ORDER BY t.createdAt DESC, t.id DESC")
+    List<TextReplaceHistoryDto> findHistory(Limit limit);
+
+    /**
+     * The rows that come after {@code (createdAt, id)} in {@link #findHistory} order. The row
+     * comparison lets the index seek straight to the position instead of skipping an offset.
+     */
+    @Query("SELECT new com.gler.assignment.dto.TextReplaceHistoryDto(t.id, t.originalText, t.replacedText, "
+            + "t.createdAt, t.lastSeenAt, t.hitCount) "
+            + "FROM TextReplaceEntity t WHERE (t.createdAt, t.id) < (:createdAt, :id) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TextReplaceHistoryDto> findHistoryBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Limit limit);
+
+    /**
+     * Every row in {@link #findHistory} order, fetched {@code 500} at a time through a cursor. Must
+     * be consumed and closed inside a transaction. The rows are not managed entities, so memory
+     * use does not grow with the table.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.gler.assignment.dto.TextReplaceHistoryDto(t.id, t.originalText, t.replacedText, "
+            + "t.createdAt, t.lastSeenAt, t.hitCount) "
+            + "FROM TextReplaceEntity t ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TextReplaceHistoryDto> streamHistory();
+}
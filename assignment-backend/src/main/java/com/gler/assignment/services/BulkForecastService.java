@@ -0,0 +1,113 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gler.assignment.config.GlobalExceptionHandler;
+import com.gler.assignment.dto.BulkForecastResultDto;
+import com.gler.assignment.dto.ErrorResponse;
+import com.gler.assignment.dto.ForecastRequestDto;
+import com.gler.assignment.dto.ForecastResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of forecast requests concurrently and writes one NDJSON line per request as soon as
+ * it completes. Lines carry the request's index because they are written in completion order.
+ */
+@Service
+@Slf4j
+public class BulkForecastService {
+
+    static final String BULK_PATH = "/api/v1/forecasts/bulk";
+
+    private final ForecastService forecastService;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final ExecutorService executor;
+
+    @Autowired
+    public BulkForecastService(
+            ForecastService forecastService,
+            ObjectMapper objectMapper,
+            @Value("${forecast.bulk.max-requests:100}") int maxRequests,
+            @Value("${forecast.bulk.parallelism:8}") int parallelism) {
+        this(forecastService, objectMapper, maxRequests, newExecutor(parallelism));
+    }
+
+    BulkForecastService(ForecastService forecastService, ObjectMapper objectMapper, int maxRequests, ExecutorService executor) {
+        if (maxRequests <= 0)
+            throw new IllegalArgumentException("forecast.bulk.max-requests must be positive");
+        this.forecastService = forecastService;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.executor = executor;
+    }
+
+    public void checkRequests(List<ForecastRequestDto> requests) {
+        if (requests == null || requests.isEmpty())
+            throw new IllegalArgumentException("Bulk forecast request must contain at least one request");
+        if (requests.size() > maxRequests)
+            throw new IllegalArgumentException("Bulk forecast request must not contain more than " + maxRequests + " requests");
+    }
+
+    public void streamForecasts(List<ForecastRequestDto> requests, OutputStream out) throws IOException {
+        checkRequests(requests);
+        log.debug("Processing bulk forecast request with {} entries", requests.size());
+        BlockingQueue<BulkForecastResultDto> completed = new ArrayBlockingQueue<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            forecastService.processForecastAsync(requests.get(i), executor)
+                    .whenComplete((forecast, failure) -> completed.add(resultOf(index, forecast, failure)));
+        }
+        try {
+            for (int written = 0; written < requests.size(); written++) {
+                out.write(objectMapper.writeValueAsBytes(completed.take()));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming bulk forecasts");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private BulkForecastResultDto resultOf(int index, ForecastResponseDto forecast, Throwable failure) {
+        if (failure == null)
+            return BulkForecastResultDto.builder().index(index).forecast(forecast).build();
+        return BulkForecastResultDto.builder().index(index).error(errorOf(failure)).build();
+    }
+
+    private ErrorResponse errorOf(Throwable failure) {
+        ErrorResponse error = GlobalExceptionHandler.errorResponseOf(failure, BULK_PATH);
+        if (error.getStatus() == HttpStatus.INTERNAL_SERVER_ERROR.value())
+            log.error("Unexpected exception in bulk forecast: {}", failure.getMessage(), failure);
+        return error;
+    }
+
+    private static ExecutorService newExecutor(int parallelism) {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "forecast-bulk-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,275 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gler.assignment.dto.ErrorResponse;
+import com.gler.assignment.entities.TextReplaceEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replaces a stream of texts and writes one NDJSON line per text, in input order, as it goes. The
+ * input is read one text at a time and the results are written straight to the response by a
+ * {@link JsonGenerator}, so memory use does not grow with the size of the request.
+ * <p>
+ * Texts are replaced by {@link TextTransformEngine} in reused buffers: as UTF-8 bytes for plain
+ * text and as the parser's chars for JSON. The only strings built are the audit keys.
+ * <p>
+ * Audits are collected per chunk of {@code chunkSize} texts, with repeated texts collapsed into
+ * one row carrying their hit count, and queued together before the chunk is flushed.
+ */
+@Service
+@Slf4j
+public class BulkTextReplaceService {
+
+    static final String BULK_PATH = "/api/v1/texts/replace/bulk";
+
+    // A code point is at most four UTF-8 bytes or two chars; longer texts cannot pass the length check.
+    private static final int MAX_LINE_BYTES = TextReplaceService.MAX_LENGTH * 4;
+    private static final int MAX_TEXT_CHARS = TextReplaceService.MAX_LENGTH * 2;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final TextReplaceService textReplaceService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BulkTextReplaceService(
+            TextReplaceService textReplaceService,
+            ObjectMapper objectMapper,
+            @Value("${text.bulk.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("text.bulk.chunk-size must be positive");
+        this.textReplaceService = textReplaceService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Treats every line of the UTF-8 stream {@code in} as one text.
+     */
+    public void replaceLines(InputStream in, OutputStream out) throws IOException {
+        Utf8LineReader lines = new Utf8LineReader(in, READ_BUFFER_SIZE, MAX_LINE_BYTES);
+        byte[] replaced = new byte[MAX_LINE_BYTES];
+        JsonGenerator json = createGenerator(out);
+        Map<String, TextReplaceEntity> audits = new HashMap<>();
+        int index = 0;
+        while (lines.next()) {
+            writeLine(json, index, lines, replaced, audits);
+            if (++index % chunkSize == 0)
+                flushChunk(json, audits);
+        }
+        finish(json, audits, index);
+    }
+
+    /**
+     * Opens {@code in} as a JSON array, positioned on its first element. Throws before anything is
+     * written when the body is not an array.
+     */
+    public JsonParser openJsonArray(InputStream in) throws IOException {
+        JsonParser parser = objectMapper.createParser(in);
+        if (nextToken(parser) != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IllegalArgumentException("Bulk text request must be a JSON array of strings");
+        }
+        return parser;
+    }
+
+    /**
+     * Treats every string of an array opened by {@link #openJsonArray} as one text. An element that
+     * is not a string gets an error line of its own; malformed JSON ends the stream with one.
+     */
+    public void replaceJsonArray(JsonParser texts, OutputStream out) throws IOException {
+        char[] replaced = new char[MAX_TEXT_CHARS];
+        JsonGenerator json = createGenerator(out);
+        Map<String, TextReplaceEntity> audits = new HashMap<>();
+        int index = 0;
+        try {
+            for (JsonToken token = nextToken(texts); token != JsonToken.END_ARRAY; token = nextToken(texts)) {
+                if (token == null)
+                    throw new MalformedInputException("Bulk text request ended before its closing bracket");
+                if (token == JsonToken.VALUE_STRING) {
+                    writeString(json, index, texts, replaced, audits);
+                } else {
+                    texts.skipChildren();
+                    writeErrorLine(json, index, "Bulk text entries must be strings");
+                }
+                if (++index % chunkSize == 0)
+                    flushChunk(json, audits);
+            }
+        } catch (MalformedInputException e) {
+            writeErrorLine(json, index, e.getMessage());
+        }
+        finish(json, audits, index);
+    }
+
+    private void writeLine(JsonGenerator json, int index, Utf8LineReader lines, byte[] replaced,
+                           Map<String, TextReplaceEntity> audits) throws IOException {
+        if (lines.overlong()) {
+            writeErrorLine(json, index, "Text length must be at most " + TextReplaceService.MAX_LENGTH + " characters");
+            return;
+        }
+        byte[] text = lines.line();
+        int length = lines.length();
+        int codePoints = TextTransformEngine.codePointCount(text, 0, length);
+        if (codePoints < 0) {
+            // Not well-formed UTF-8: decode it with replacement characters, as a Reader would.
+            writeDecoded(json, index, new String(text, 0, length, StandardCharsets.UTF_8), audits);
+            return;
+        }
+        startLine(json, index);
+        json.writeFieldName("originalText");
+        json.writeUTF8String(text, 0, length);
+        try {
+            if (textReplaceService.checkLength(codePoints)) {
+                int replacedLength = TextTransformEngine.replaceUtf8(text, 0, length, replaced, 0);
+                json.writeFieldName("replacedText");
+                json.writeUTF8String(replaced, 0, replacedLength);
+                String originalText = new String(text, 0, length, StandardCharsets.UTF_8);
+                if (!countHit(audits, originalText))
+                    addAudit(audits, originalText, new String(replaced, 0, replacedLength, StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException e) {
+            writeError(json, e.getMessage());
+        }
+        endLine(json);
+    }
+
+    private void writeString(JsonGenerator json, int index, JsonParser texts, char[] replaced,
+                             Map<String, TextReplaceEntity> audits) throws IOException {
+        char[] text = textCharacters(texts);
+        int offset = texts.getTextOffset();
+        int length = texts.getTextLength();
+        startLine(json, index);
+        json.writeFieldName("originalText");
+        json.writeString(text, offset, length);
+        try {
+            if (textReplaceService.checkLength(Character.codePointCount(text, offset, length))) {
+                int replacedLength = TextTransformEngine.replace(text, offset, length, replaced, 0);
+                json.writeFieldName("replacedText");
+                json.writeString(replaced, 0, replacedLength);
+                String originalText = new String(text, offset, length);
+                if (!countHit(audits, originalText))
+                    addAudit(audits, originalText, new String(replaced, 0, replacedLength));
+            }
+        } catch (IllegalArgumentException e) {
+            writeError(json, e.getMessage());
+        }
+        endLine(json);
+    }
+
+    private void writeDecoded(JsonGenerator json, int index, String text, Map<String, TextReplaceEntity> audits)
+            throws IOException {
+        startLine(json, index);
+        json.writeStringField("originalText", text);
+        try {
+            String replacedText = textReplaceService.replace(text);
+            if (replacedText != null) {
+                json.writeStringField("replacedText", replacedText);
+                if (!countHit(audits, text))
+                    addAudit(audits, text, replacedText);
+            }
+        } catch (IllegalArgumentException e) {
+            writeError(json, e.getMessage());
+        }
+        endLine(json);
+    }
+
+    private static boolean countHit(Map<String, TextReplaceEntity> audits, String originalText) {
+        TextReplaceEntity audit = audits.get(originalText);
+        if (audit == null)
+            return false;
+        audit.setHitCount(audit.getHitCount() + 1);
+        return true;
+    }
+
+    private static void addAudit(Map<String, TextReplaceEntity> audits, String originalText, String replacedText) {
+        audits.put(originalText, TextReplaceEntity.builder()
+                .originalText(originalText)
+                .replacedText(replacedText)
+                .createdAt(LocalDateTime.now())
+                .hitCount(1L)
+                .build());
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        return json;
+    }
+
+    private void flushChunk(JsonGenerator json, Map<String, TextReplaceEntity> audits) throws IOException {
+        textReplaceService.audit(audits.values());
+        audits.clear();
+        json.flush();
+    }
+
+    private void finish(JsonGenerator json, Map<String, TextReplaceEntity> audits, int entries) throws IOException {
+        flushChunk(json, audits);
+        json.close();
+        log.debug("Processed bulk text replacement of {} entries", entries);
+    }
+
+    private static void startLine(JsonGenerator json, int index) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("index", index);
+    }
+
+    private static void endLine(JsonGenerator json) throws IOException {
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeErrorLine(JsonGenerator json, int index, String message) throws IOException {
+        startLine(json, index);
+        writeError(json, message);
+        endLine(json);
+    }
+
+    private static void writeError(JsonGenerator json, String message) throws IOException {
+        json.writeObjectField("error", ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(message)
+                .path(BULK_PATH)
+                .build());
+    }
+
+    private static JsonToken nextToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (StreamReadException e) {
+            throw new MalformedInputException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // String contents are decoded lazily, so a bad escape or byte inside one only surfaces here.
+    private static char[] textCharacters(JsonParser parser) throws IOException {
+        try {
+            return parser.getTextCharacters();
+        } catch (StreamReadException e) {
+            throw new MalformedInputException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static final class MalformedInputException extends IllegalArgumentException {
+
+        MalformedInputException(String message) {
+            super(message);
+        }
+    }
+}
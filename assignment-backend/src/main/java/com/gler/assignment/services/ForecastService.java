@@ -1,82 +1,119 @@
 package com.gler.assignment.services;
 
-import com.gler.assignment.client.OpenMeteoClient;
+import com.gler.assignment.client.ForecastDataCache;
+import com.gler.assignment.client.ForecastSnapshot;
+import com.gler.assignment.client.HourlyAggregates;
 import com.gler.assignment.dto.ForecastRequestDto;
 import com.gler.assignment.dto.ForecastResponseDto;
-import com.gler.assignment.dto.OpenMeteoApiResponse;
 import com.gler.assignment.entities.ForecastEntity;
-import com.gler.assignment.repositories.ForecastRepository;
-import lombok.RequiredArgsConstructor;
+import com.gler.assignment.persistence.ForecastFingerprints;
+import com.gler.assignment.persistence.WriteBehindQueue;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ForecastService {
 
-    private final OpenMeteoClient openMeteoClient;
-    private final ForecastRepository forecastRepository;
+    private final ForecastDataCache forecastDataCache;
+    private final WriteBehindQueue<ForecastEntity> forecastWriteQueue;
+    private final ForecastFingerprints forecastFingerprints;
+    private final double defaultLatitude;
+    private final double defaultLongitude;
+
+    public ForecastService(
+            ForecastDataCache forecastDataCache,
+            WriteBehindQueue<ForecastEntity> forecastWriteQueue,
+            ForecastFingerprints forecastFingerprints,
+            @Value("${openmeteo.default-location.latitude:52.52}") double defaultLatitude,
+            @Value("${openmeteo.default-location.longitude:13.41}") double defaultLongitude) {
+        this.forecastDataCache = forecastDataCache;
+        this.forecastWriteQueue = forecastWriteQueue;
+        this.forecastFingerprints = forecastFingerprints;
+        this.defaultLatitude = defaultLatitude;
+        this.defaultLongitude = defaultLongitude;
+    }
 
     public ForecastResponseDto processForecast(ForecastRequestDto request) {
+        checkRequest(request);
+        log.debug("Processing forecast request for {},{}", request.getLatitude(), request.getLongitude());
+        ForecastSnapshot snapshot = forecastDataCache.get(latitudeOf(request), longitudeOf(request));
+        return buildForecast(request, snapshot);
+    }
+
+    /**
+     * Resolves the request against the cache without blocking the caller, then builds and saves the
+     * result on {@code executor}. Requests for cold cells issued together share an upstream batch.
+     */
+    public CompletableFuture<ForecastResponseDto> processForecastAsync(ForecastRequestDto request, Executor executor) {
+        try {
+            checkRequest(request);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        log.debug("Processing forecast request asynchronously for {},{}", request.getLatitude(), request.getLongitude());
+        return forecastDataCache.getAsync(latitudeOf(request), longitudeOf(request))
+                .thenApplyAsync(snapshot -> buildForecast(request, snapshot), executor);
+    }
+
+    private void checkRequest(ForecastRequestDto request) {
         if (request == null)
             throw new IllegalArgumentException("Forecast request must not be null");
-        log.info("Processing forecast request: {}", request);
-        OpenMeteoApiResponse apiResponse = openMeteoClient.fetchForecastData();
-        Double maxTemperature = null;
-        Double maxHumidity = null;
-        Double maxWindSpeed = null;
-        if (request.getAddTemprature() && apiResponse.getHourly() != null)
-            maxTemperature = extractMaxTemperature(apiResponse.getHourly().getTemperature2m());
+        if ((request.getLatitude() == null) != (request.getLongitude() == null))
+            throw new IllegalArgumentException("latitude and longitude must be provided together");
+    }
+
+    private double latitudeOf(ForecastRequestDto request) {
+        return request.getLatitude() != null ? request.getLatitude() : defaultLatitude;
+    }
 
-        if (request.getAddHumidity() && apiResponse.getHourly() != null)
-            maxHumidity = extractMaxHumidity(apiResponse.getHourly().getRelativeHumidity2m());
+    private double longitudeOf(ForecastRequestDto request) {
+        return request.getLongitude() != null ? request.getLongitude() : defaultLongitude;
+    }
 
-        if (request.getAddWindSpeed() && apiResponse.getHourly() != null)
-            maxWindSpeed = extractMaxWindSpeed(apiResponse.getHourly().getWindSpeed10m());
+    private ForecastResponseDto buildForecast(ForecastRequestDto request, ForecastSnapshot snapshot) {
+        HourlyAggregates aggregates = snapshot.getAggregates();
+        Double maxTemperature = aggregates.maxOrNull(HourlyAggregates.Series.TEMPERATURE_2M);
+        Double maxHumidity = aggregates.maxOrNull(HourlyAggregates.Series.RELATIVE_HUMIDITY_2M);
+        Double maxWindSpeed = aggregates.maxOrNull(HourlyAggregates.Series.WIND_SPEED_10M);
 
         LocalDate forecastDate = LocalDate.now();
-        ForecastEntity entity = ForecastEntity.builder()
+        save(ForecastEntity.builder()
                 .forecastDate(forecastDate)
+                .latitude(snapshot.getCell().latitude())
+                .longitude(snapshot.getCell().longitude())
                 .maxTemperature(maxTemperature)
                 .maxHumidity(maxHumidity)
                 .maxWindSpeed(maxWindSpeed)
-                .build();
-        forecastRepository.save(entity);
+                .build());
+        Instant now = Instant.now();
         return ForecastResponseDto.builder()
                 .date(forecastDate)
-                .maxTemperature(maxTemperature)
-                .maxHumidity(maxHumidity)
-                .maxWindSpeed(maxWindSpeed)
+                .latitude(snapshot.getCell().latitude())
+                .longitude(snapshot.getCell().longitude())
+                .maxTemperature(request.getAddTemprature() ? maxTemperature : null)
+                .maxHumidity(request.getAddHumidity() ? maxHumidity : null)
+                .maxWindSpeed(request.getAddWindSpeed() ? maxWindSpeed : null)
+                .dataFetchedAt(snapshot.getFetchedAt())
+                .dataAgeSeconds(snapshot.ageAt(now).toSeconds())
+                .stale(snapshot.isStaleAt(now))
                 .build();
     }
 
-    private Double extractMaxTemperature(List<Double> temperatures) {
-        if (temperatures == null || temperatures.isEmpty())
-            return null;
-        return Collections.max(temperatures.stream()
-                .filter(Objects::nonNull)
-                .toList());
-    }
-
-    private Double extractMaxHumidity(List<Integer> humidities) {
-        if (humidities == null || humidities.isEmpty())
-            return null;
-        return Collections.max(humidities.stream()
-                .filter(Objects::nonNull)
-                .toList()).doubleValue();
-    }
-
-    private Double extractMaxWindSpeed(List<Double> windSpeeds) {
-        if (windSpeeds == null || windSpeeds.isEmpty())
-            return null;
-        return Collections.max(windSpeeds.stream()
-                .filter(Objects::nonNull)
-                .toList());
+    // The stored row holds every series regardless of the request flags, so that one row per day
+    // and cell is enough and repeated requests for unchanged data skip the write entirely.
+    private void save(ForecastEntity entity) {
+        if (!forecastFingerprints.markIfChanged(entity))
+            return;
+        forecastWriteQueue.submit(entity).whenComplete((written, failure) -> {
+            if (failure != null)
+                forecastFingerprints.forget(entity);
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.gler.assignment.services;
+
+import com.gler.assignment.dto.ForecastRequestDto;
+import com.gler.assignment.dto.ForecastResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Reactive entry point to {@link ForecastService}. The cache lookup and, with
+ * {@code openmeteo.fetch.mode=reactive}, the upstream call hold no thread while they wait. Building
+ * the response and queueing its row run on a bounded offload scheduler, because a full write-behind
+ * queue makes the submitting thread write to the database itself. When the scheduler's queue is
+ * full the request fails with a {@link java.util.concurrent.RejectedExecutionException}, answered
+ * with 503 like any other shed load.
+ */
+@Service
+@Slf4j
+public class ReactiveForecastService {
+
+    private final ForecastService forecastService;
+    private final Scheduler offloadScheduler;
+    private final Executor offloadExecutor;
+
+    @Autowired
+    public ReactiveForecastService(
+            ForecastService forecastService,
+            @Value("${forecast.reactive.offload-threads:8}") int offloadThreads,
+            @Value("${forecast.reactive.offload-queue-size:10000}") int offloadQueueSize) {
+        this(forecastService, Schedulers.newBoundedElastic(offloadThreads, offloadQueueSize, "forecast-offload", 60, true));
+    }
+
+    ReactiveForecastService(ForecastService forecastService, Scheduler offloadScheduler) {
+        this.forecastService = forecastService;
+        this.offloadScheduler = offloadScheduler;
+        this.offloadExecutor = offloadScheduler::schedule;
+    }
+
+    public Mono<ForecastResponseDto> processForecast(ForecastRequestDto request) {
+        return Mono.fromFuture(() -> forecastService.processForecastAsync(request, offloadExecutor));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        offloadScheduler.dispose();
+    }
+}
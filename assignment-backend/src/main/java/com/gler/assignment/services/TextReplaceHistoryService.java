@@ -0,0 +1,93 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gler.assignment.dto.TextReplaceHistoryDto;
+import com.gler.assignment.dto.TextReplaceHistoryPageDto;
+import com.gler.assignment.repositories.TextReplaceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads the text replacement history newest first. A page ends with an opaque cursor holding the
+ * {@code (created_at, id)} of its last row; the next page seeks past that position.
+ */
+@Service
+public class TextReplaceHistoryService {
+
+    private static final char CURSOR_SEPARATOR = '/';
+
+    private final TextReplaceRepository textReplaceRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    public TextReplaceHistoryService(
+            TextReplaceRepository textReplaceRepository,
+            ObjectMapper objectMapper,
+            @Value("${text.history.max-page-size:500}") int maxPageSize) {
+        this.textReplaceRepository = textReplaceRepository;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public TextReplaceHistoryPageDto getHistory(String cursor, int limit) {
+        if (limit < 1 || limit > maxPageSize)
+            throw new IllegalArgumentException("History page size must be between 1 and " + maxPageSize);
+        List<TextReplaceHistoryDto> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = textReplaceRepository.findHistory(Limit.of(limit));
+        } else {
+            TextReplaceHistoryDto position = decodeCursor(cursor);
+            items = textReplaceRepository.findHistoryBefore(position.getCreatedAt(), position.getId(), Limit.of(limit));
+        }
+        return TextReplaceHistoryPageDto.builder()
+                .items(items)
+                .nextCursor(items.size() == limit ? encodeCursor(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * Writes the whole history as NDJSON. Rows are read through a database cursor, so memory use
+     * stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportHistory(OutputStream out) throws IOException {
+        try (Stream<TextReplaceHistoryDto> rows = textReplaceRepository.streamHistory()) {
+            Iterator<TextReplaceHistoryDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    static String encodeCursor(TextReplaceHistoryDto row) {
+        String position = row.getCreatedAt().toString() + CURSOR_SEPARATOR + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TextReplaceHistoryDto decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            return TextReplaceHistoryDto.builder()
+                    .createdAt(LocalDateTime.parse(position.substring(0, separator)))
+                    .id(Long.parseLong(position.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+}
@@ -2,46 +2,131 @@ package com.gler.assignment.services;
 
 import com.gler.assignment.dto.TextReplaceDto;
 import com.gler.assignment.entities.TextReplaceEntity;
-import com.gler.assignment.repositories.TextReplaceRepository;
-import lombok.RequiredArgsConstructor;
+import com.gler.assignment.exceptions.AuditWriteException;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import com.gler.assignment.persistence.WriteDurability;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TextReplaceService {
 
-    private final TextReplaceRepository repository;
+    static final String CACHE_NAME = "text.replacements";
+    // Width of the text_replacements text columns, which PostgreSQL counts in code points.
+    static final int MAX_LENGTH = 1000;
+
+    private final WriteBehindQueue<TextReplaceEntity> auditQueue;
+    private final WriteDurability durability;
+    private final Duration ackTimeout;
+    private final DistributionSummary textLengths;
+    private final Cache<String, String> recentResults;
+
+    public TextReplaceService(
+            WriteBehindQueue<TextReplaceEntity> auditQueue,
+            MeterRegistry meterRegistry,
+            @Value("${text.audit.durability:fire-and-forget}") WriteDurability durability,
+            @Value("${text.audit.ack-timeout:5s}") Duration ackTimeout,
+            @Value("${text.replace.cache-size:10000}") long cacheSize) {
+        if (cacheSize <= 0)
+            throw new IllegalArgumentException("text.replace.cache-size must be positive");
+        this.auditQueue = auditQueue;
+        this.durability = durability;
+        this.ackTimeout = ackTimeout;
+        this.textLengths = DistributionSummary.builder("text.replace.length")
+                .description("Length of texts submitted for replacement")
+                .baseUnit("characters")
+                .register(meterRegistry);
+        this.recentResults = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentResults, CACHE_NAME);
+    }
 
     public TextReplaceDto processTextReplacement(String text) {
-        log.info("Processing text replacement for: {}", text);
-        if (text == null)
-            throw new IllegalArgumentException("Text cannot be null");
-        int length = text.length();
-        if (length < 2)
-            throw new IllegalArgumentException("Text length must be at least 2 characters");
-        if (length == 2)
+        String replacedText = replace(text);
+        if (replacedText == null)
             return null;
-        String replacedText = replaceText(text);
         TextReplaceEntity entity = TextReplaceEntity.builder()
                 .originalText(text)
                 .replacedText(replacedText)
+                .createdAt(LocalDateTime.now())
                 .build();
-        repository.save(entity);
-        log.info("Saved text replacement with id: {}", entity.getId());
+        CompletableFuture<Void> written = auditQueue.submit(entity);
+        if (durability == WriteDurability.GROUP_COMMIT)
+            awaitWrite(written);
         return TextReplaceDto.builder()
                 .originalText(text)
                 .replacedText(replacedText)
                 .build();
     }
 
-    private String replaceText(String text) {
-        if (text.length() <= 2)
-            return text;
-        StringBuilder sb = new StringBuilder(text);
-        sb.setCharAt(0, '*');
-        sb.setCharAt(text.length() - 1, '$');
-        return sb.toString();
+    /**
+     * Validates {@code text} and returns its replacement, or {@code null} for a text of two code
+     * points, which is left alone. Nothing is audited.
+     */
+    public String replace(String text) {
+        if (text == null)
+            throw new IllegalArgumentException("Text cannot be null");
+        if (!checkLength(text.codePointCount(0, text.length())))
+            return null;
+        return recentResults.get(text, TextTransformEngine::replace);
+    }
+
+    /**
+     * Validates the length of a text, in code points, and returns whether it is to be replaced.
+     * Used directly by callers that hold the text in a buffer rather than a {@link String}.
+     */
+    public boolean checkLength(int codePoints) {
+        log.debug("Processing text replacement of {} characters", codePoints);
+        textLengths.record(codePoints);
+        if (codePoints < 2)
+            throw new IllegalArgumentException("Text length must be at least 2 characters");
+        if (codePoints > MAX_LENGTH)
+            throw new IllegalArgumentException("Text length must be at most " + MAX_LENGTH + " characters");
+        return codePoints > 2;
+    }
+
+    /**
+     * Queues audit rows that were collected by the caller, each possibly carrying several hits.
+     * Under group commit, waits until all of them are stored.
+     */
+    public void audit(Collection<TextReplaceEntity> entities) {
+        if (entities.isEmpty())
+            return;
+        CompletableFuture<?>[] written = new CompletableFuture<?>[entities.size()];
+        int i = 0;
+        for (TextReplaceEntity entity : entities)
+            written[i++] = auditQueue.submit(entity);
+        if (durability == WriteDurability.GROUP_COMMIT)
+            awaitWrite(CompletableFuture.allOf(written));
+    }
+
+    private void awaitWrite(CompletableFuture<Void> written) {
+        try {
+            written.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new AuditWriteException("Failed to store text replacement audit row", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AuditWriteException("Text replacement audit row was not stored within " + ackTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuditWriteException("Interrupted while storing text replacement audit row", e);
+        }
     }
 }
\ No newline at end of file
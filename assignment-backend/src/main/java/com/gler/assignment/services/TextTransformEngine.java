@@ -0,0 +1,155 @@
+package com.gler.assignment.services;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * The text replacement itself: the first code point of a text becomes {@code '*'} and the last one
+ * {@code '$'}. A surrogate pair, or a multi-byte UTF-8 sequence, is one code point and is replaced
+ * whole. Besides the {@link String} form there are forms over caller-owned {@code char[]} and UTF-8
+ * {@code byte[]} buffers, which allocate nothing. Every form needs at least two code points.
+ */
+public final class TextTransformEngine {
+
+    public static final char FIRST_MARK = '*';
+    public static final char LAST_MARK = '$';
+
+    // Reads eight bytes at a time to skip ASCII runs in codePointCount.
+    private static final VarHandle WORD = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long NON_ASCII_BITS = 0x8080808080808080L;
+
+    private TextTransformEngine() {
+    }
+
+    public static String replace(String text) {
+        int length = text.length();
+        int first = length > 1 && Character.isHighSurrogate(text.charAt(0))
+                && Character.isLowSurrogate(text.charAt(1)) ? 2 : 1;
+        int last = length > 1 && Character.isLowSurrogate(text.charAt(length - 1))
+                && Character.isHighSurrogate(text.charAt(length - 2)) ? 2 : 1;
+        checkTwoCodePoints(first, last, length);
+        return new StringBuilder(length - first - last + 2)
+                .append(FIRST_MARK)
+                .append(text, first, length - last)
+                .append(LAST_MARK)
+                .toString();
+    }
+
+    /**
+     * Writes the replacement of {@code src[offset, offset + length)} to {@code dst} at
+     * {@code dstOffset} and returns its length, which is at most {@code length}. {@code dst} may be
+     * {@code src}, with the ranges overlapping.
+     */
+    public static int replace(char[] src, int offset, int length, char[] dst, int dstOffset) {
+        int end = offset + length;
+        int first = length > 1 && Character.isHighSurrogate(src[offset])
+                && Character.isLowSurrogate(src[offset + 1]) ? 2 : 1;
+        int last = length > 1 && Character.isLowSurrogate(src[end - 1])
+                && Character.isHighSurrogate(src[end - 2]) ? 2 : 1;
+        checkTwoCodePoints(first, last, length);
+        int middle = length - first - last;
+        System.arraycopy(src, offset + first, dst, dstOffset + 1, middle);
+        dst[dstOffset] = FIRST_MARK;
+        dst[dstOffset + middle + 1] = LAST_MARK;
+        return middle + 2;
+    }
+
+    /**
+     * Same as {@link #replace(char[], int, int, char[], int)} for well-formed UTF-8, see
+     * {@link #codePointCount}. A byte that does not start a well-formed sequence counts as a code
+     * point of its own.
+     */
+    public static int replaceUtf8(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length;
+        int first = length > 0 ? wellFormedSequenceLength(src, offset, end) : 1;
+        int last = 1;
+        int lastStart = end - 1;
+        while (lastStart > offset && end - lastStart < 4 && isContinuation(src[lastStart]))
+            lastStart--;
+        if (lastStart >= offset && wellFormedSequenceLength(src, lastStart, end) == end - lastStart)
+            last = end - lastStart;
+        checkTwoCodePoints(first, last, length);
+        int middle = length - first - last;
+        System.arraycopy(src, offset + first, dst, dstOffset + 1, middle);
+        dst[dstOffset] = (byte) FIRST_MARK;
+        dst[dstOffset + middle + 1] = (byte) LAST_MARK;
+        return middle + 2;
+    }
+
+    /**
+     * The number of code points in {@code src[offset, offset + length)}, or {@code -1} if it is not
+     * well-formed UTF-8: truncated or overlong sequences, surrogates and code points above
+     * {@code U+10FFFF} are rejected, as the JDK decoder does.
+     */
+    public static int codePointCount(byte[] src, int offset, int length) {
+        int end = offset + length;
+        int codePoints = 0;
+        int i = offset;
+        while (i < end) {
+            int asciiStart = i;
+            while (i <= end - Long.BYTES && ((long) WORD.get(src, i) & NON_ASCII_BITS) == 0)
+                i += Long.BYTES;
+            while (i < end && src[i] >= 0)
+                i++;
+            codePoints += i - asciiStart;
+            if (i == end)
+                break;
+            int sequence = wellFormedSequenceLength(src, i, end);
+            if (sequence == 1)
+                return -1;
+            i += sequence;
+            codePoints++;
+        }
+        return codePoints;
+    }
+
+    /**
+     * Length of the well-formed sequence starting at {@code src[i]}, or 1 when there is none, per
+     * table 3-7 of the Unicode standard.
+     */
+    private static int wellFormedSequenceLength(byte[] src, int i, int end) {
+        int lead = src[i] & 0xFF;
+        if (lead < 0x80)
+            return 1;
+        int length;
+        int secondMin = 0x80;
+        int secondMax = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            if (lead == 0xE0)
+                secondMin = 0xA0;
+            else if (lead == 0xED)
+                secondMax = 0x9F;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            if (lead == 0xF0)
+                secondMin = 0x90;
+            else if (lead == 0xF4)
+                secondMax = 0x8F;
+        } else {
+            return 1;
+        }
+        if (end - i < length)
+            return 1;
+        int second = src[i + 1] & 0xFF;
+        if (second < secondMin || second > secondMax)
+            return 1;
+        for (int k = 2; k < length; k++) {
+            if (!isContinuation(src[i + k]))
+                return 1;
+        }
+        return length;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static void checkTwoCodePoints(int first, int last, int length) {
+        if (first + last > length)
+            throw new IllegalArgumentException("Text must have at least two code points");
+    }
+}
@@ -0,0 +1,94 @@
+package com.gler.assignment.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a byte stream into lines without decoding it. A line ends at {@code '\n'}; a {@code '\r'}
+ * right before it is dropped. The current line stays in a reused buffer until the next call to
+ * {@link #next()}. A line longer than {@code maxLineBytes} is skipped to its end and reported as
+ * {@link #overlong()}, so a single huge line cannot exhaust memory.
+ */
+final class Utf8LineReader {
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private final byte[] line;
+    private final int maxLineBytes;
+    private int position;
+    private int limit;
+    private int length;
+    private boolean overlong;
+
+    Utf8LineReader(InputStream in, int bufferSize, int maxLineBytes) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+        // One spare byte for the '\r' of a line of exactly maxLineBytes.
+        this.line = new byte[maxLineBytes + 1];
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Moves to the next line and returns whether there is one. As with
+     * {@link java.io.BufferedReader#readLine()}, a final newline does not start an empty line.
+     */
+    boolean next() throws IOException {
+        length = 0;
+        overlong = false;
+        boolean started = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return started && finish();
+                }
+            }
+            started = true;
+            int end = position;
+            while (end < limit && buffer[end] != '\n')
+                end++;
+            append(position, end);
+            if (end < limit) {
+                position = end + 1;
+                if (length > 0 && line[length - 1] == '\r')
+                    length--;
+                return finish();
+            }
+            position = limit;
+        }
+    }
+
+    byte[] line() {
+        return line;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean overlong() {
+        return overlong;
+    }
+
+    private boolean finish() {
+        if (length > maxLineBytes)
+            overlong = true;
+        if (overlong)
+            length = 0;
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int count = to - from;
+        if (overlong)
+            return;
+        if (length + count > line.length) {
+            overlong = true;
+            return;
+        }
+        System.arraycopy(buffer, from, line, length, count);
+        length += count;
+    }
+}
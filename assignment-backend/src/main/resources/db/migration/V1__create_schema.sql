@@ -0,0 +1,24 @@
+-- The schema as Hibernate's ddl-auto created it. Databases that already have these tables are
+-- baselined at version 0, so the statements below leave them untouched.
+
+CREATE SEQUENCE IF NOT EXISTS forecasts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS forecasts (
+    id              bigint       NOT NULL,
+    forecast_date   date         NOT NULL,
+    latitude        float(53),
+    longitude       float(53),
+    max_temperature float(53),
+    max_humidity    float(53),
+    max_wind_speed  float(53),
+    created_at      timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS text_replacements (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY,
+    original_text varchar(1000) NOT NULL,
+    replaced_text varchar(1000) NOT NULL,
+    created_at    timestamp(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,85 @@
+-- Turns forecasts into a table range-partitioned by month of forecast_date. Existing rows are
+-- copied into the new partitions; the copy holds a lock on the old table until it is done.
+
+CREATE OR REPLACE FUNCTION create_forecast_partitions(from_month date, months integer)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+    month_start    date := date_trunc('month', from_month)::date;
+    partition_name text;
+    created        integer := 0;
+BEGIN
+    FOR i IN 1 .. months LOOP
+        partition_name := 'forecasts_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF forecasts FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, (month_start + interval '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Drops the monthly partitions that end on or before cutoff.
+CREATE OR REPLACE FUNCTION drop_forecast_partitions_before(cutoff date)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name text;
+    dropped        integer := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'forecasts' AND child.relname ~ '^forecasts_p[0-9]{6}$'
+    LOOP
+        IF (to_date(substring(partition_name FROM 12), 'YYYYMM') + interval '1 month')::date <= cutoff THEN
+            EXECUTE format('DROP TABLE %I', partition_name);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+ALTER TABLE forecasts RENAME TO forecasts_unpartitioned;
+ALTER TABLE forecasts_unpartitioned RENAME CONSTRAINT forecasts_pkey TO forecasts_unpartitioned_pkey;
+
+CREATE TABLE forecasts (
+    id              bigint       NOT NULL,
+    forecast_date   date         NOT NULL,
+    latitude        float(53),
+    longitude       float(53),
+    max_temperature float(53),
+    max_humidity    float(53),
+    max_wind_speed  float(53),
+    created_at      timestamp(6) NOT NULL,
+    PRIMARY KEY (id, forecast_date)
+) PARTITION BY RANGE (forecast_date);
+
+-- Rows arrive in forecast_date and created_at order, which is what BRIN summaries need.
+CREATE INDEX forecasts_date_created_at_brin ON forecasts USING brin (forecast_date, created_at);
+CREATE INDEX forecasts_location_date_idx ON forecasts (latitude, longitude, forecast_date);
+
+-- One partition per month from the oldest copied row through three months ahead.
+WITH bounds AS (
+    SELECT date_trunc('month', LEAST(COALESCE(min(forecast_date), current_date), current_date))::date AS first_month,
+           date_trunc('month', GREATEST(COALESCE(max(forecast_date), current_date),
+                                        current_date + interval '3 months'))::date AS last_month
+    FROM forecasts_unpartitioned)
+SELECT create_forecast_partitions(first_month,
+        ((extract(YEAR FROM last_month) - extract(YEAR FROM first_month)) * 12
+         + extract(MONTH FROM last_month) - extract(MONTH FROM first_month))::integer + 1)
+FROM bounds;
+
+INSERT INTO forecasts (id, forecast_date, latitude, longitude, max_temperature, max_humidity, max_wind_speed, created_at)
+SELECT id, forecast_date, latitude, longitude, max_temperature, max_humidity, max_wind_speed, created_at
+FROM forecasts_unpartitioned;
+
+DROP TABLE forecasts_unpartitioned;
+
+-- Hibernate allocates ids in blocks of 50 from the sequence; keep the next block above every copied id.
+SELECT setval('forecasts_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM forecasts) + 50,
+                                        (SELECT last_value FROM forecasts_seq)));
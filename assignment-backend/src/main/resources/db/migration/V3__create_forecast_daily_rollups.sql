@@ -0,0 +1,42 @@
+-- One row per location and day, so history queries do not have to scan the raw forecasts. Rollups
+-- outlive the raw partitions they were computed from.
+
+CREATE TABLE forecast_daily_rollups (
+    forecast_date   date         NOT NULL,
+    latitude        float(53)    NOT NULL,
+    longitude       float(53)    NOT NULL,
+    request_count   bigint       NOT NULL,
+    max_temperature float(53),
+    max_humidity    float(53),
+    max_wind_speed  float(53),
+    last_created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (forecast_date, latitude, longitude)
+);
+
+CREATE INDEX forecast_daily_rollups_location_idx ON forecast_daily_rollups (latitude, longitude, forecast_date);
+
+-- Recomputes the rollup rows of one day from the raw forecasts; running it twice is harmless.
+CREATE OR REPLACE FUNCTION rollup_forecasts(day date)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+    upserted integer;
+BEGIN
+    INSERT INTO forecast_daily_rollups (forecast_date, latitude, longitude, request_count,
+                                        max_temperature, max_humidity, max_wind_speed, last_created_at)
+    SELECT forecast_date, latitude, longitude, count(*),
+           max(max_temperature), max(max_humidity), max(max_wind_speed), max(created_at)
+    FROM forecasts
+    WHERE forecast_date = day AND latitude IS NOT NULL AND longitude IS NOT NULL
+    GROUP BY forecast_date, latitude, longitude
+    ON CONFLICT (forecast_date, latitude, longitude) DO UPDATE
+        SET request_count   = EXCLUDED.request_count,
+            max_temperature = EXCLUDED.max_temperature,
+            max_humidity    = EXCLUDED.max_humidity,
+            max_wind_speed  = EXCLUDED.max_wind_speed,
+            last_created_at = EXCLUDED.last_created_at;
+    GET DIAGNOSTICS upserted = ROW_COUNT;
+    RETURN upserted;
+END;
+$$;
+
+SELECT rollup_forecasts(forecast_date) FROM (SELECT DISTINCT forecast_date FROM forecasts) AS days;
@@ -0,0 +1,18 @@
+-- Forecasts are now upserted per day and grid cell. Keep the latest row of each combination and
+-- make it the table's unique key.
+
+DELETE FROM forecasts WHERE latitude IS NULL OR longitude IS NULL;
+
+DELETE FROM forecasts
+WHERE (id, forecast_date) IN (
+    SELECT id, forecast_date
+    FROM (SELECT id, forecast_date,
+                 row_number() OVER (PARTITION BY forecast_date, latitude, longitude
+                                    ORDER BY created_at DESC, id DESC) AS newest_first
+          FROM forecasts) AS ranked
+    WHERE newest_first > 1);
+
+ALTER TABLE forecasts
+    ALTER COLUMN latitude SET NOT NULL,
+    ALTER COLUMN longitude SET NOT NULL,
+    ADD CONSTRAINT forecasts_date_location_key UNIQUE (forecast_date, latitude, longitude);
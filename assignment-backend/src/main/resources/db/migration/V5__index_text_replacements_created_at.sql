@@ -0,0 +1,2 @@
+-- Backs the newest-first keyset pagination of the text replacement history.
+CREATE INDEX text_replacements_created_at_id_idx ON text_replacements (created_at, id);
@@ -0,0 +1,9 @@
+-- Fixed-width SHA-256 of original_text, so that lookups by text probe a small index instead of
+-- scanning the varchar(1000) column.
+ALTER TABLE text_replacements ADD COLUMN original_text_hash bytea;
+
+UPDATE text_replacements SET original_text_hash = sha256(convert_to(original_text, 'UTF8'));
+
+ALTER TABLE text_replacements ALTER COLUMN original_text_hash SET NOT NULL;
+
+CREATE INDEX text_replacements_original_text_hash_idx ON text_replacements (original_text_hash);
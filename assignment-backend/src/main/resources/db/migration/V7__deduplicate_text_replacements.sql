@@ -0,0 +1,26 @@
+-- One row per distinct text, keyed by its hash, counting how often it was submitted. Existing
+-- duplicates are merged into their oldest row. SHA-256 collisions are not expected, so the hash
+-- alone is the conflict key of the upsert.
+ALTER TABLE text_replacements
+    ADD COLUMN hit_count bigint NOT NULL DEFAULT 1,
+    ADD COLUMN last_seen_at timestamp(6);
+
+WITH merged AS (
+    SELECT min(id) AS id, count(*) AS hits, min(created_at) AS first_seen, max(created_at) AS last_seen
+    FROM text_replacements
+    GROUP BY original_text_hash
+)
+UPDATE text_replacements t
+SET hit_count = m.hits, created_at = m.first_seen, last_seen_at = m.last_seen
+FROM merged m
+WHERE t.id = m.id;
+
+-- The merged rows are the ones left without last_seen_at.
+DELETE FROM text_replacements WHERE last_seen_at IS NULL;
+
+ALTER TABLE text_replacements ALTER COLUMN last_seen_at SET NOT NULL;
+ALTER TABLE text_replacements ALTER COLUMN hit_count DROP DEFAULT;
+
+DROP INDEX text_replacements_original_text_hash_idx;
+ALTER TABLE text_replacements
+    ADD CONSTRAINT text_replacements_original_text_hash_key UNIQUE (original_text_hash);
@@ -0,0 +1,26 @@
+-- Since V4, forecasts holds one upserted row per day and grid cell, so counting rows per day and
+-- location always gave 1 and overwrote the request counts rolled up before. Rollups now carry only
+-- the values of the upserted rows.
+
+ALTER TABLE forecast_daily_rollups DROP COLUMN request_count;
+
+-- Copies the rows of one day into the rollups; running it twice is harmless.
+CREATE OR REPLACE FUNCTION rollup_forecasts(day date)
+RETURNS integer LANGUAGE plpgsql AS $$
+DECLARE
+    upserted integer;
+BEGIN
+    INSERT INTO forecast_daily_rollups (forecast_date, latitude, longitude,
+                                        max_temperature, max_humidity, max_wind_speed, last_created_at)
+    SELECT forecast_date, latitude, longitude, max_temperature, max_humidity, max_wind_speed, created_at
+    FROM forecasts
+    WHERE forecast_date = day
+    ON CONFLICT (forecast_date, latitude, longitude) DO UPDATE
+        SET max_temperature = EXCLUDED.max_temperature,
+            max_humidity    = EXCLUDED.max_humidity,
+            max_wind_speed  = EXCLUDED.max_wind_speed,
+            last_created_at = EXCLUDED.last_created_at;
+    GET DIAGNOSTICS upserted = ROW_COUNT;
+    RETURN upserted;
+END;
+$$;
@@ -0,0 +1,121 @@
+package com.gler.assignment.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void givenLimitReachedWhenTryAcquireThenShedAndCountRejection() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 0.2, Duration.ZERO);
+
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isEmpty());
+
+        assertEquals(2, limiter.getInflight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void givenPermitReleasedWhileWaitingWhenTryAcquireThenTakeIt() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 10, 0.2, Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire().orElseThrow();
+
+        CompletableFuture<Optional<AdaptiveConcurrencyLimiter.Permit>> waiting =
+                CompletableFuture.supplyAsync(limiter::tryAcquire);
+        held.release();
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(0, limiter.getRejected());
+    }
+
+    @Test
+    void givenStableRttUnderLoadWhenSamplesArriveThenRaiseLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 20, 0.2, Duration.ZERO);
+
+        for (int i = 0; i < 100; i++)
+            limiter.onSample(RTT, limiter.getLimit());
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void givenRisingRttWhenSamplesArriveThenLowerLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 20, 0.2, Duration.ZERO);
+        limiter.onSample(RTT, 20);
+
+        for (int i = 0; i < 20; i++)
+            limiter.onSample(RTT * 4, limiter.getLimit());
+
+        assertTrue(limiter.getLimit() < 20, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void givenFewCallsInFlightWhenSamplesArriveThenKeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 20, 0.2, Duration.ZERO);
+
+        for (int i = 0; i < 20; i++)
+            limiter.onSample(RTT, 1);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void givenDroppedCallsWhenReleasedThenBackOffToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 20, 0.2, Duration.ZERO);
+
+        limiter.tryAcquire().orElseThrow().dropped();
+        assertEquals(9, limiter.getLimit());
+        for (int i = 0; i < 50; i++)
+            limiter.onDropped();
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    void givenPermitReleasedTwiceWhenReleaseThenFreeOnlyOneSlot() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 0.2, Duration.ZERO);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+        limiter.tryAcquire().orElseThrow();
+
+        permit.success();
+        permit.release();
+
+        assertEquals(1, limiter.getInflight());
+    }
+
+    @Test
+    void givenRegistryWhenBindToThenExportLimitInflightAndRejections() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 10, 0.2, Duration.ZERO);
+        limiter.bindTo(registry);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        assertEquals(1.0, registry.get("openmeteo.concurrency.limit").tag("name", "test").gauge().value());
+        assertEquals(1.0, registry.get("openmeteo.concurrency.inflight").tag("name", "test").gauge().value());
+        assertEquals(1.0, registry.get("openmeteo.concurrency.rejected").tag("name", "test").functionCounter().count());
+    }
+
+    @Test
+    void givenInvalidSettingsWhenCreateLimiterThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("test", 1, 2, 10, 0.2, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("test", 5, 1, 10, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("test", 5, 1, 10, 0.2, Duration.ofMillis(-1)));
+    }
+}
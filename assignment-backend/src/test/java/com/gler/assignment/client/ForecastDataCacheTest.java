@@ -0,0 +1,420 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForecastDataCacheTest {
+
+    private static final double BERLIN_LATITUDE = 52.52;
+    private static final double BERLIN_LONGITUDE = 13.41;
+
+    @Mock
+    private OpenMeteoClient openMeteoClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochSecond(0, nanos.get());
+        }
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ForecastDataCache forecastDataCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        forecastDataCache = createCache(ForecastCacheMode.EXPIRE);
+    }
+
+    private ForecastDataCache createCache(ForecastCacheMode mode) {
+        return createCache(mode, 10_000);
+    }
+
+    private ForecastDataCache createCache(ForecastCacheMode mode, long maximumSize) {
+        return new ForecastDataCache(directFetcher(), meterRegistry, Duration.ofMinutes(15), mode,
+                Duration.ofHours(1), 0.8, Duration.ofSeconds(30), maximumSize, 2, Runnable::run, nanos::get, clock);
+    }
+
+    @Test
+    void givenCachedResponseWhenGetWithinTtlThenReturnCachedResponseWithoutUpstreamCall() {
+        OpenMeteoApiResponse response = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(response);
+
+        ForecastSnapshot first = forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(14));
+        ForecastSnapshot second = forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        assertSame(response, first.getResponse());
+        assertSame(first, second);
+        assertEquals(Duration.ofMinutes(15), first.getFreshFor());
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+        assertEquals(1, forecastDataCache.stats().hitCount());
+        assertEquals(1, forecastDataCache.stats().missCount());
+    }
+
+    @Test
+    void givenExpiredEntryWhenGetThenFetchFromUpstreamAgain() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(responseWithInterval(null), responseWithInterval(null));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(16));
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenBreakerOpenWhenGetPastFreshForThenServeStaleEntry() throws Exception {
+        OpenMeteoApiResponse initial = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(initial)
+                .thenThrow(new UpstreamUnavailableException("Open-Meteo circuit breaker is open"));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(20));
+        ForecastSnapshot stale = forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        ForecastSnapshot staleAsync = forecastDataCache.getAsync(BERLIN_LATITUDE, BERLIN_LONGITUDE)
+                .get(5, TimeUnit.SECONDS);
+
+        assertSame(initial, stale.getResponse());
+        assertSame(stale, staleAsync);
+        assertTrue(stale.isStaleAt(clock.instant()));
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenBreakerOpenWhenStaleWindowElapsedThenThrowUpstreamUnavailableException() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(responseWithInterval(null))
+                .thenThrow(new UpstreamUnavailableException("Open-Meteo circuit breaker is open"));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(76));
+
+        assertThrows(UpstreamUnavailableException.class,
+                () -> forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE));
+    }
+
+    @Test
+    void givenUpstreamIntervalShorterThanTtlWhenGetThenExpireAfterInterval() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(responseWithInterval(300), responseWithInterval(300));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(4));
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+
+        advance(Duration.ofMinutes(2));
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenUpstreamFailureWhenGetThenPropagateExceptionAndDoNotCacheIt() {
+        OpenMeteoApiResponse response = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"))
+                .thenReturn(response);
+
+        assertThrows(UpstreamApiException.class, () -> forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE));
+        assertSame(response, forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE).getResponse());
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenConcurrentMissesWhenGetThenShareSingleUpstreamCall() throws Exception {
+        CountDownLatch upstreamEntered = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        OpenMeteoApiResponse response = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            upstreamEntered.countDown();
+            assertTrue(releaseUpstream.await(5, TimeUnit.SECONDS));
+            return response;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ForecastSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                results.add(executor.submit(() -> forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE)));
+            assertTrue(upstreamEntered.await(5, TimeUnit.SECONDS));
+            releaseUpstream.countDown();
+            for (Future<ForecastSnapshot> result : results)
+                assertSame(response, result.get(5, TimeUnit.SECONDS).getResponse());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenCachedCellWhenGetAsyncThenCompleteWithSameSnapshot() throws Exception {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(responseWithInterval(null));
+
+        ForecastSnapshot loaded = forecastDataCache.getAsync(BERLIN_LATITUDE, BERLIN_LONGITUDE).get(5, TimeUnit.SECONDS);
+        ForecastSnapshot cached = forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        assertSame(loaded, cached);
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenUpstreamFailureWhenGetAsyncThenFailFuture() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> forecastDataCache.getAsync(BERLIN_LATITUDE, BERLIN_LONGITUDE).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(UpstreamApiException.class, failure.getCause());
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenGetAsyncAfterRefreshPointThenReloadInBackground() throws Exception {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        OpenMeteoApiResponse initial = responseWithInterval(null);
+        OpenMeteoApiResponse refreshed = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(initial, refreshed);
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(13));
+        ForecastSnapshot served = refreshAheadCache.getAsync(BERLIN_LATITUDE, BERLIN_LONGITUDE).get(5, TimeUnit.SECONDS);
+
+        assertSame(initial, served.getResponse());
+        assertSame(refreshed, refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE).getResponse());
+    }
+
+    @Test
+    void givenCacheActivityWhenGetThenPublishCacheMetrics() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(responseWithInterval(null));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", ForecastDataCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", ForecastDataCache.CACHE_NAME)
+                .tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get(ForecastDataCache.AGGREGATION_METRIC).timer().count());
+    }
+
+    @Test
+    void givenNonPositiveTtlWhenCreateCacheThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastDataCache(directFetcher(), meterRegistry, Duration.ZERO, ForecastCacheMode.EXPIRE,
+                        Duration.ofHours(1), 0.8, Duration.ofSeconds(30), 10_000, 2, Runnable::run, nanos::get, clock));
+    }
+
+    @Test
+    void givenNearbyCoordinatesWhenGetThenShareOneGridCellEntryFetchedForCellCenter() {
+        OpenMeteoApiResponse response = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(52.52, 13.41)).thenReturn(response);
+
+        ForecastSnapshot first = forecastDataCache.get(52.5249, 13.4149);
+        ForecastSnapshot second = forecastDataCache.get(52.5151, 13.4051);
+
+        assertSame(first, second);
+        assertEquals(new GridCell(5252, 1341, 2), first.getCell());
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenCoordinatesInDifferentCellsWhenGetThenFetchEachCell() {
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> responseWithInterval(null));
+
+        forecastDataCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        forecastDataCache.get(48.8566, 2.3522);
+
+        verify(openMeteoClient).fetchForecastData(52.52, 13.41);
+        verify(openMeteoClient).fetchForecastData(48.86, 2.35);
+        assertEquals(2, forecastDataCache.estimatedSize());
+    }
+
+    @Test
+    void givenMoreCellsThanMaximumSizeWhenGetThenStayBoundedAndKeepHotCellResident() {
+        ForecastDataCache boundedCache = createCache(ForecastCacheMode.EXPIRE, 10);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> responseWithInterval(null));
+
+        for (int i = 0; i < 500; i++) {
+            boundedCache.get(-45 + i * 0.1, -90 + i * 0.1);
+            if (i % 2 == 0)
+                boundedCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        }
+
+        assertTrue(boundedCache.estimatedSize() <= 10);
+        verify(openMeteoClient, times(1)).fetchForecastData(52.52, 13.41);
+    }
+
+    @Test
+    void givenInvalidGridPrecisionWhenCreateCacheThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastDataCache(directFetcher(), meterRegistry, Duration.ofMinutes(15), ForecastCacheMode.EXPIRE,
+                        Duration.ofHours(1), 0.8, Duration.ofSeconds(30), 10_000, 5, Runnable::run, nanos::get, clock));
+    }
+
+    @Test
+    void givenInvalidRefreshAheadRatioWhenCreateCacheThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastDataCache(directFetcher(), meterRegistry, Duration.ofMinutes(15),
+                        ForecastCacheMode.REFRESH_AHEAD, Duration.ofHours(1), 1.5, Duration.ofSeconds(30), 10_000, 2, Runnable::run, nanos::get, clock));
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenEntryReachesRefreshPointThenReturnCachedAndRefreshInBackground() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        OpenMeteoApiResponse initial = responseWithInterval(null);
+        OpenMeteoApiResponse refreshed = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(initial, refreshed);
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(13));
+        ForecastSnapshot servedDuringRefresh = refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        ForecastSnapshot afterRefresh = refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        assertSame(initial, servedDuringRefresh.getResponse());
+        assertSame(refreshed, afterRefresh.getResponse());
+        assertEquals(clock.instant(), afterRefresh.getFetchedAt());
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenSweepRunsBeforeRefreshPointThenDoNotCallUpstream() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(responseWithInterval(null));
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(5));
+        refreshAheadCache.refreshDueEntries();
+
+        verify(openMeteoClient, times(1)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenSweepRunsAfterRefreshPointThenReloadEntry() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        OpenMeteoApiResponse refreshed = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble())).thenReturn(responseWithInterval(null), refreshed);
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(12));
+        refreshAheadCache.refreshDueEntries();
+
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+        assertSame(refreshed, refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE).getResponse());
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenUpstreamDownThenServeStaleWithinMaxStaleWindow() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        OpenMeteoApiResponse initial = responseWithInterval(null);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(initial)
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"));
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(45));
+        ForecastSnapshot stale = refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+
+        assertSame(initial, stale.getResponse());
+        assertTrue(stale.isStaleAt(clock.instant()));
+        assertEquals(Duration.ofMinutes(45), stale.ageAt(clock.instant()));
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenRefreshFailedThenWaitRetryIntervalBeforeNextRefresh() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(responseWithInterval(null))
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"));
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(13));
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofSeconds(29));
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        refreshAheadCache.refreshDueEntries();
+        verify(openMeteoClient, times(2)).fetchForecastData(anyDouble(), anyDouble());
+
+        advance(Duration.ofSeconds(1));
+        refreshAheadCache.refreshDueEntries();
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        verify(openMeteoClient, times(3)).fetchForecastData(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenRefreshAheadModeWhenStaleWindowElapsedThenThrowUpstreamApiException() {
+        ForecastDataCache refreshAheadCache = createCache(ForecastCacheMode.REFRESH_AHEAD);
+        when(openMeteoClient.fetchForecastData(anyDouble(), anyDouble()))
+                .thenReturn(responseWithInterval(null))
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"));
+
+        refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE);
+        advance(Duration.ofMinutes(76));
+
+        assertThrows(UpstreamApiException.class, () -> refreshAheadCache.get(BERLIN_LATITUDE, BERLIN_LONGITUDE));
+    }
+
+    private ForecastFetchBatcher directFetcher() {
+        return new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ZERO, Runnable::run);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private OpenMeteoApiResponse responseWithInterval(Integer intervalSeconds) {
+        OpenMeteoApiResponse response = new OpenMeteoApiResponse();
+        OpenMeteoApiResponse.Current current = new OpenMeteoApiResponse.Current();
+        current.setInterval(intervalSeconds);
+        response.setCurrent(current);
+        return response;
+    }
+}
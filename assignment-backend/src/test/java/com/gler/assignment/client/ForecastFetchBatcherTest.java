@@ -0,0 +1,183 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForecastFetchBatcherTest {
+
+    private static final GridCell BERLIN = GridCell.of(52.52, 13.41, 2);
+    private static final GridCell PARIS = GridCell.of(48.86, 2.35, 2);
+    private static final GridCell SYDNEY = GridCell.of(-33.87, 151.21, 2);
+
+    @Mock
+    private OpenMeteoClient openMeteoClient;
+
+    @Mock
+    private ReactiveOpenMeteoClient reactiveOpenMeteoClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ForecastFetchBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null)
+            batcher.shutdown();
+    }
+
+    @Test
+    void givenZeroWindowWhenFetchThenCallUpstreamForSingleLocation() throws Exception {
+        OpenMeteoApiResponse response = new OpenMeteoApiResponse();
+        when(openMeteoClient.fetchForecastData(52.52, 13.41)).thenReturn(response);
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ZERO, Runnable::run);
+
+        assertSame(response, batcher.fetch(BERLIN).get());
+        verify(openMeteoClient, never()).fetchForecastData(anyList());
+    }
+
+    @Test
+    void givenBatchReachesMaxSizeWhenFetchThenSendOneMultiLocationRequestAndFanOutResults() throws Exception {
+        OpenMeteoApiResponse berlin = new OpenMeteoApiResponse();
+        OpenMeteoApiResponse paris = new OpenMeteoApiResponse();
+        OpenMeteoApiResponse sydney = new OpenMeteoApiResponse();
+        when(openMeteoClient.fetchForecastData(List.of(BERLIN, PARIS, SYDNEY))).thenReturn(List.of(berlin, paris, sydney));
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 3, Duration.ofHours(1), Runnable::run);
+
+        CompletableFuture<OpenMeteoApiResponse> first = batcher.fetch(BERLIN);
+        CompletableFuture<OpenMeteoApiResponse> second = batcher.fetch(PARIS);
+        assertFalse(first.isDone());
+        CompletableFuture<OpenMeteoApiResponse> third = batcher.fetch(SYDNEY);
+
+        assertSame(berlin, first.get());
+        assertSame(paris, second.get());
+        assertSame(sydney, third.get());
+        verify(openMeteoClient, times(1)).fetchForecastData(anyList());
+        assertEquals(3.0, meterRegistry.get(ForecastFetchBatcher.BATCH_SIZE_METRIC).summary().max());
+    }
+
+    @Test
+    void givenWindowElapsesWhenFetchThenSendPartialBatch() throws Exception {
+        OpenMeteoApiResponse berlin = new OpenMeteoApiResponse();
+        OpenMeteoApiResponse paris = new OpenMeteoApiResponse();
+        when(openMeteoClient.fetchForecastData(List.of(BERLIN, PARIS))).thenReturn(List.of(berlin, paris));
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ofMillis(20), Runnable::run);
+
+        CompletableFuture<OpenMeteoApiResponse> first = batcher.fetch(BERLIN);
+        CompletableFuture<OpenMeteoApiResponse> second = batcher.fetch(PARIS);
+
+        assertSame(berlin, first.get(5, TimeUnit.SECONDS));
+        assertSame(paris, second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenSameCellPendingWhenFetchThenShareOneSlotInBatch() {
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ofHours(1), Runnable::run);
+
+        assertSame(batcher.fetch(BERLIN), batcher.fetch(BERLIN));
+    }
+
+    @Test
+    void givenUpstreamFailureWhenBatchFetchedThenFailEveryWaiter() {
+        when(openMeteoClient.fetchForecastData(anyList()))
+                .thenThrow(new UpstreamApiException("Connection to the upstream is unreachable"));
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 2, Duration.ofHours(1), Runnable::run);
+
+        CompletableFuture<OpenMeteoApiResponse> first = batcher.fetch(BERLIN);
+        CompletableFuture<OpenMeteoApiResponse> second = batcher.fetch(PARIS);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, first::get);
+        assertInstanceOf(UpstreamApiException.class, failure.getCause());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void givenPendingBatchWhenShutdownThenFlushIt() throws Exception {
+        OpenMeteoApiResponse berlin = new OpenMeteoApiResponse();
+        when(openMeteoClient.fetchForecastData(List.of(BERLIN))).thenReturn(List.of(berlin));
+        batcher = new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ofHours(1), Runnable::run);
+
+        CompletableFuture<OpenMeteoApiResponse> pending = batcher.fetch(BERLIN);
+        batcher.shutdown();
+
+        assertSame(berlin, pending.get());
+    }
+
+    @Test
+    void givenReactiveClientAndZeroWindowWhenFetchThenCallReactiveClientOnly() throws Exception {
+        OpenMeteoApiResponse response = new OpenMeteoApiResponse();
+        when(reactiveOpenMeteoClient.fetchForecastData(52.52, 13.41)).thenReturn(Mono.just(response));
+        batcher = new ForecastFetchBatcher(openMeteoClient, reactiveOpenMeteoClient, meterRegistry, 50, Duration.ZERO,
+                command -> fail("reactive fetches must not use the executor"));
+
+        assertSame(response, batcher.fetch(BERLIN).get());
+        verifyNoInteractions(openMeteoClient);
+    }
+
+    @Test
+    void givenReactiveClientWhenBatchFetchedThenFanOutResultsWithoutExecutor() throws Exception {
+        OpenMeteoApiResponse berlin = new OpenMeteoApiResponse();
+        OpenMeteoApiResponse paris = new OpenMeteoApiResponse();
+        when(reactiveOpenMeteoClient.fetchForecastData(List.of(BERLIN, PARIS))).thenReturn(Mono.just(List.of(berlin, paris)));
+        batcher = new ForecastFetchBatcher(openMeteoClient, reactiveOpenMeteoClient, meterRegistry, 2, Duration.ofHours(1),
+                command -> fail("reactive fetches must not use the executor"));
+
+        CompletableFuture<OpenMeteoApiResponse> first = batcher.fetch(BERLIN);
+        CompletableFuture<OpenMeteoApiResponse> second = batcher.fetch(PARIS);
+
+        assertSame(berlin, first.get());
+        assertSame(paris, second.get());
+        verifyNoInteractions(openMeteoClient);
+    }
+
+    @Test
+    void givenReactiveClientFailsWhenBatchFetchedThenFailEveryWaiter() {
+        when(reactiveOpenMeteoClient.fetchForecastData(anyList()))
+                .thenReturn(Mono.error(new UpstreamApiException("Connection to the upstream is unreachable")));
+        batcher = new ForecastFetchBatcher(openMeteoClient, reactiveOpenMeteoClient, meterRegistry, 2, Duration.ofHours(1),
+                Runnable::run);
+
+        CompletableFuture<OpenMeteoApiResponse> first = batcher.fetch(BERLIN);
+        CompletableFuture<OpenMeteoApiResponse> second = batcher.fetch(PARIS);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, first::get);
+        assertInstanceOf(UpstreamApiException.class, failure.getCause());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void givenBlockingModeWhenCreateBatcherThenIgnoreReactiveClient() throws Exception {
+        OpenMeteoApiResponse response = new OpenMeteoApiResponse();
+        when(openMeteoClient.fetchForecastData(52.52, 13.41)).thenReturn(response);
+        batcher = new ForecastFetchBatcher(openMeteoClient, reactiveOpenMeteoClient, meterRegistry,
+                ForecastFetchMode.BLOCKING, 50, Duration.ZERO, Runnable::run);
+
+        assertSame(response, batcher.fetch(BERLIN).get());
+        verifyNoInteractions(reactiveOpenMeteoClient);
+    }
+
+    @Test
+    void givenInvalidSettingsWhenCreateBatcherThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastFetchBatcher(openMeteoClient, meterRegistry, 0, Duration.ZERO, Runnable::run));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastFetchBatcher(openMeteoClient, meterRegistry, 50, Duration.ofMillis(-1), Runnable::run));
+    }
+}
@@ -0,0 +1,37 @@
+package com.gler.assignment.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastUrisTest {
+
+    private static final String API_URL = "https://api.open-meteo.com/v1/forecast?latitude=1&hourly=temperature_2m";
+
+    @Test
+    void givenCoordinatesWhenBuildUriThenReplaceConfiguredCoordinates() {
+        URI uri = ForecastUris.of(API_URL, 52.52, 13.41);
+
+        assertEquals("https://api.open-meteo.com/v1/forecast?hourly=temperature_2m&latitude=52.52&longitude=13.41",
+                uri.toString());
+        assertEquals("latitude=53.0", ForecastUris.of(API_URL, 53.0, 13.0).getQuery().split("&")[1]);
+    }
+
+    @Test
+    void givenPrecisionFourCellsNearZeroWhenBuildUriThenWriteCoordinatesInPlainNotation() {
+        GridCell nearEquator = GridCell.of(0.0001, -0.0002, 4);
+        GridCell nearMeridian = GridCell.of(-0.0009, 0.0003, 4);
+
+        URI single = ForecastUris.of(API_URL, nearEquator.latitude(), nearEquator.longitude());
+        URI batch = ForecastUris.of(API_URL, List.of(nearEquator, nearMeridian));
+
+        assertTrue(single.getQuery().contains("latitude=0.0001"), single.toString());
+        assertTrue(single.getQuery().contains("longitude=-0.0002"), single.toString());
+        assertTrue(batch.getQuery().contains("latitude=0.0001,-0.0009"), batch.toString());
+        assertTrue(batch.getQuery().contains("longitude=-0.0002,0.0003"), batch.toString());
+        assertFalse(batch.toString().contains("E-"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.gler.assignment.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridCellTest {
+
+    @Test
+    void givenNearbyCoordinatesWhenRoundToGridThenReturnSameCell() {
+        assertEquals(GridCell.of(52.5249, 13.4149, 2), GridCell.of(52.5151, 13.4051, 2));
+        assertNotEquals(GridCell.of(52.52, 13.41, 2), GridCell.of(52.53, 13.41, 2));
+    }
+
+    @Test
+    void givenCellWhenReadCenterThenReturnRoundedCoordinates() {
+        GridCell cell = GridCell.of(-33.8688, 151.2093, 2);
+
+        assertEquals(-33.87, cell.latitude());
+        assertEquals(151.21, cell.longitude());
+    }
+
+    @Test
+    void givenCoarserPrecisionWhenRoundToGridThenMergeMoreCoordinates() {
+        GridCell cell = GridCell.of(52.52, 13.41, 0);
+
+        assertEquals(GridCell.of(52.9, 12.6, 0), cell);
+        assertEquals(53.0, cell.latitude());
+        assertEquals(13.0, cell.longitude());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"90.5, 0, 2", "0, -180.1, 2", "NaN, 0, 2", "0, 0, -1", "0, 0, 5"})
+    void givenOutOfRangeInputWhenRoundToGridThenThrowIllegalArgumentException(
+            double latitude, double longitude, int precision) {
+        assertThrows(IllegalArgumentException.class, () -> GridCell.of(latitude, longitude, precision));
+    }
+}
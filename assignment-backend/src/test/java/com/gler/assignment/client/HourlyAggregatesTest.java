@@ -0,0 +1,83 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.client.HourlyAggregates.Series;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HourlyAggregatesTest {
+
+    @Test
+    void givenHourlySeriesWhenComputeAggregatesThenReturnMinMaxMeanAndCount() {
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        hourly.setTemperature2m(new double[]{10.0, 20.0, 15.0});
+        hourly.setRelativeHumidity2m(new int[]{40, 80, 60});
+        hourly.setWindSpeed10m(new double[]{3.0, 9.0});
+
+        HourlyAggregates aggregates = HourlyAggregates.of(hourly);
+
+        assertEquals(10.0, aggregates.min(Series.TEMPERATURE_2M));
+        assertEquals(20.0, aggregates.max(Series.TEMPERATURE_2M));
+        assertEquals(15.0, aggregates.mean(Series.TEMPERATURE_2M));
+        assertEquals(3, aggregates.count(Series.TEMPERATURE_2M));
+        assertEquals(80.0, aggregates.max(Series.RELATIVE_HUMIDITY_2M));
+        assertEquals(60.0, aggregates.mean(Series.RELATIVE_HUMIDITY_2M));
+        assertEquals(6.0, aggregates.mean(Series.WIND_SPEED_10M));
+    }
+
+    @Test
+    void givenMissingSamplesWhenComputeAggregatesThenIgnoreThem() {
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        hourly.setTemperature2m(new double[]{Double.NaN, -4.0, Double.NaN, -2.0});
+
+        HourlyAggregates aggregates = HourlyAggregates.of(hourly);
+
+        assertEquals(-4.0, aggregates.min(Series.TEMPERATURE_2M));
+        assertEquals(-2.0, aggregates.maxOrNull(Series.TEMPERATURE_2M));
+        assertEquals(2, aggregates.count(Series.TEMPERATURE_2M));
+    }
+
+    @Test
+    void givenMissingHumiditySamplesWhenComputeAggregatesThenIgnoreThem() {
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        hourly.setRelativeHumidity2m(new int[]{OpenMeteoApiResponse.Hourly.MISSING_INT, 55, 45});
+
+        HourlyAggregates aggregates = HourlyAggregates.of(hourly);
+
+        assertEquals(45.0, aggregates.min(Series.RELATIVE_HUMIDITY_2M));
+        assertEquals(55.0, aggregates.max(Series.RELATIVE_HUMIDITY_2M));
+        assertEquals(50.0, aggregates.mean(Series.RELATIVE_HUMIDITY_2M));
+    }
+
+    @Test
+    void givenMissingOrEmptySeriesWhenComputeAggregatesThenReportNaNAndNullMaximum() {
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        hourly.setTemperature2m(new double[0]);
+        hourly.setWindSpeed10m(new double[]{Double.NaN, Double.NaN});
+
+        HourlyAggregates aggregates = HourlyAggregates.of(hourly);
+
+        for (Series series : Series.values()) {
+            assertTrue(Double.isNaN(aggregates.max(series)));
+            assertTrue(Double.isNaN(aggregates.mean(series)));
+            assertNull(aggregates.maxOrNull(series));
+            assertEquals(0, aggregates.count(series));
+        }
+    }
+
+    @Test
+    void givenNullHourlyWhenComputeAggregatesThenReturnEmptyAggregates() {
+        assertSame(HourlyAggregates.empty(), HourlyAggregates.of(null));
+    }
+
+    @Test
+    void givenComputedAggregatesWhenReadMaximumRepeatedlyThenReturnSameInstance() {
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        hourly.setWindSpeed10m(new double[]{1000.5, 2000.5});
+
+        HourlyAggregates aggregates = HourlyAggregates.of(hourly);
+
+        assertSame(aggregates.maxOrNull(Series.WIND_SPEED_10M), aggregates.maxOrNull(Series.WIND_SPEED_10M));
+    }
+}
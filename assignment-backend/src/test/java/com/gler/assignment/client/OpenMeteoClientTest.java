@@ -2,6 +2,12 @@ package com.gler.assignment.client;
 
 import com.gler.assignment.dto.OpenMeteoApiResponse;
 import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,10 +20,15 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -29,7 +40,9 @@ class OpenMeteoClientTest {
 
     private OpenMeteoClient openMeteoClient;
 
-    private static final String API_URL = "https://api.open-meteo.com/v1/forecast?latitude=52.52&longitude=13.41&current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m";
+    private static final String API_URL = "https://api.open-meteo.com/v1/forecast?current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m";
+
+    private static final URI FORECAST_URI = URI.create(API_URL + "&latitude=52.52&longitude=13.41");
 
     @BeforeEach
     void setUp() {
@@ -39,34 +52,34 @@ class OpenMeteoClientTest {
     @Test
     void givenValidApiResponseWhenFetchForecastDataThenReturnCompleteResponse() {
         OpenMeteoApiResponse givenResponse = createMockApiResponse();
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result);
         assertEquals(givenResponse.getLatitude(), result.getLatitude());
         assertEquals(givenResponse.getLongitude(), result.getLongitude());
         assertNotNull(result.getHourly());
-        assertEquals(5, result.getHourly().getTemperature2m().size());
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        assertEquals(5, result.getHourly().getTemperature2m().length);
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
     void givenResponseWithAllFieldsWhenFetchForecastDataThenReturnAllHourlyData() {
         OpenMeteoApiResponse givenResponse = createMockApiResponse();
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result.getHourly());
         assertNotNull(result.getHourly().getTemperature2m());
         assertNotNull(result.getHourly().getRelativeHumidity2m());
         assertNotNull(result.getHourly().getWindSpeed10m());
-        assertFalse(result.getHourly().getTemperature2m().isEmpty());
-        assertFalse(result.getHourly().getRelativeHumidity2m().isEmpty());
-        assertFalse(result.getHourly().getWindSpeed10m().isEmpty());
+        assertNotEquals(0, result.getHourly().getTemperature2m().length);
+        assertNotEquals(0, result.getHourly().getRelativeHumidity2m().length);
+        assertNotEquals(0, result.getHourly().getWindSpeed10m().length);
     }
 
     @Test
@@ -76,20 +89,20 @@ class OpenMeteoClientTest {
         givenResponse.setLongitude(13.41);
 
         OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
-        hourly.setTemperature2m(Collections.emptyList());
-        hourly.setRelativeHumidity2m(Collections.emptyList());
-        hourly.setWindSpeed10m(Collections.emptyList());
+        hourly.setTemperature2m(new double[0]);
+        hourly.setRelativeHumidity2m(new int[0]);
+        hourly.setWindSpeed10m(new double[0]);
         givenResponse.setHourly(hourly);
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result);
-        assertTrue(result.getHourly().getTemperature2m().isEmpty());
-        assertTrue(result.getHourly().getRelativeHumidity2m().isEmpty());
-        assertTrue(result.getHourly().getWindSpeed10m().isEmpty());
+        assertEquals(0, result.getHourly().getTemperature2m().length);
+        assertEquals(0, result.getHourly().getRelativeHumidity2m().length);
+        assertEquals(0, result.getHourly().getWindSpeed10m().length);
     }
 
     @Test
@@ -103,10 +116,10 @@ class OpenMeteoClientTest {
         current.setWindSpeed10m(12.3);
         givenResponse.setCurrent(current);
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result.getCurrent());
         assertEquals(20.5, result.getCurrent().getTemperature2m());
@@ -115,32 +128,32 @@ class OpenMeteoClientTest {
 
     @Test
     void givenNullResponseWhenFetchForecastDataThenThrowUpstreamApiException() {
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(null);
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Received null response from upstream API", exception.getMessage());
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
     void givenRestClientExceptionWhenFetchForecastDataThenThrowUpstreamApiException() {
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenThrow(new RestClientException("Connection refused"));
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Connection to the upstream is unreachable", exception.getMessage());
         assertNotNull(exception.getCause());
         assertTrue(exception.getCause() instanceof RestClientException);
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
@@ -150,17 +163,17 @@ class OpenMeteoClientTest {
                 new SocketTimeoutException("Read timed out")
         );
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenThrow(timeoutException);
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Connection to the upstream is unreachable", exception.getMessage());
         assertNotNull(exception.getCause());
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
@@ -173,16 +186,16 @@ class OpenMeteoClientTest {
                 null
         );
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenThrow(clientException);
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Connection to the upstream is unreachable", exception.getMessage());
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
@@ -195,16 +208,16 @@ class OpenMeteoClientTest {
                 null
         );
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenThrow(serverException);
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Connection to the upstream is unreachable", exception.getMessage());
-        verify(restTemplate, times(1)).getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class));
+        verify(restTemplate, times(1)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
     }
 
     @Test
@@ -213,12 +226,12 @@ class OpenMeteoClientTest {
                 "Network is unreachable"
         );
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenThrow(networkException);
 
         UpstreamApiException exception = assertThrows(
                 UpstreamApiException.class,
-                () -> openMeteoClient.fetchForecastData()
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41)
         );
 
         assertEquals("Connection to the upstream is unreachable", exception.getMessage());
@@ -232,10 +245,10 @@ class OpenMeteoClientTest {
         givenResponse.setLongitude(13.41);
         givenResponse.setHourly(null);
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result);
         assertNull(result.getHourly());
@@ -248,15 +261,15 @@ class OpenMeteoClientTest {
         givenResponse.setLongitude(13.41);
 
         OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
-        hourly.setTemperature2m(Arrays.asList(15.0, 18.0, 22.0));
+        hourly.setTemperature2m(new double[]{15.0, 18.0, 22.0});
         hourly.setRelativeHumidity2m(null);
-        hourly.setWindSpeed10m(Arrays.asList(10.5, 12.0));
+        hourly.setWindSpeed10m(new double[]{10.5, 12.0});
         givenResponse.setHourly(hourly);
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result);
         assertNotNull(result.getHourly().getTemperature2m());
@@ -269,21 +282,170 @@ class OpenMeteoClientTest {
         OpenMeteoApiResponse givenResponse = new OpenMeteoApiResponse();
 
         OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
-        hourly.setTemperature2m(Arrays.asList(-10.0, -5.0, -15.0, -8.0));
-        hourly.setRelativeHumidity2m(Arrays.asList(60, 65, 70, 68));
-        hourly.setWindSpeed10m(Arrays.asList(10.5, 12.0, 15.5, 14.0));
+        hourly.setTemperature2m(new double[]{-10.0, -5.0, -15.0, -8.0});
+        hourly.setRelativeHumidity2m(new int[]{60, 65, 70, 68});
+        hourly.setWindSpeed10m(new double[]{10.5, 12.0, 15.5, 14.0});
         givenResponse.setHourly(hourly);
 
-        when(restTemplate.getForObject(eq(API_URL), eq(OpenMeteoApiResponse.class)))
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
                 .thenReturn(givenResponse);
 
-        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData();
+        OpenMeteoApiResponse result = openMeteoClient.fetchForecastData(52.52, 13.41);
 
         assertNotNull(result);
-        assertTrue(result.getHourly().getTemperature2m().stream()
+        assertTrue(Arrays.stream(result.getHourly().getTemperature2m())
                 .allMatch(temp -> temp < 0));
     }
 
+    @Test
+    void givenCoordinatesWhenBuildForecastUriThenAppendThemToConfiguredUrl() {
+        assertEquals(URI.create(API_URL + "&latitude=-33.87&longitude=151.21"),
+                openMeteoClient.forecastUri(-33.87, 151.21));
+    }
+
+    @Test
+    void givenConfiguredUrlWithCoordinatesWhenBuildForecastUriThenReplaceThem() {
+        OpenMeteoClient legacyClient = new OpenMeteoClient(restTemplate,
+                "https://api.open-meteo.com/v1/forecast?latitude=52.52&longitude=13.41&hourly=temperature_2m");
+
+        assertEquals(URI.create("https://api.open-meteo.com/v1/forecast?hourly=temperature_2m&latitude=48.86&longitude=2.35"),
+                legacyClient.forecastUri(48.86, 2.35));
+    }
+
+    @Test
+    void givenSeveralCellsWhenFetchForecastDataThenSendOneRequestAndReturnForecastsInOrder() {
+        OpenMeteoApiResponse berlin = createMockApiResponse();
+        OpenMeteoApiResponse paris = createMockApiResponse();
+        URI batchUri = URI.create(API_URL + "&latitude=52.52,48.86&longitude=13.41,2.35");
+        when(restTemplate.getForObject(eq(batchUri), eq(OpenMeteoApiResponse[].class)))
+                .thenReturn(new OpenMeteoApiResponse[]{berlin, paris});
+
+        List<OpenMeteoApiResponse> result = openMeteoClient.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2)));
+
+        assertEquals(List.of(berlin, paris), result);
+        verify(restTemplate, times(1)).getForObject(eq(batchUri), eq(OpenMeteoApiResponse[].class));
+    }
+
+    @Test
+    void givenSingleCellWhenFetchForecastDataThenUseSingleLocationRequest() {
+        OpenMeteoApiResponse givenResponse = createMockApiResponse();
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
+                .thenReturn(givenResponse);
+
+        List<OpenMeteoApiResponse> result = openMeteoClient.fetchForecastData(List.of(GridCell.of(52.52, 13.41, 2)));
+
+        assertEquals(List.of(givenResponse), result);
+    }
+
+    @Test
+    void givenForecastCountMismatchWhenFetchForecastDataThenThrowUpstreamApiException() {
+        when(restTemplate.getForObject(any(URI.class), eq(OpenMeteoApiResponse[].class)))
+                .thenReturn(new OpenMeteoApiResponse[]{createMockApiResponse()});
+
+        assertThrows(UpstreamApiException.class, () -> openMeteoClient.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2))));
+    }
+
+    @Test
+    void givenRestClientExceptionWhenFetchSeveralCellsThenThrowUpstreamApiException() {
+        when(restTemplate.getForObject(any(URI.class), eq(OpenMeteoApiResponse[].class)))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        assertThrows(UpstreamApiException.class, () -> openMeteoClient.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2))));
+    }
+
+    @Test
+    void givenRepeatedFailuresWhenFetchForecastDataThenOpenBreakerAndStopCallingUpstream() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("openmeteo", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build());
+        openMeteoClient = new OpenMeteoClient(restTemplate, API_URL, circuitBreaker, Bulkhead.ofDefaults("openmeteo"),
+                AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"), RequestHedger.disabled());
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThrows(UpstreamApiException.class, () -> openMeteoClient.fetchForecastData(52.52, 13.41));
+        assertThrows(UpstreamApiException.class, () -> openMeteoClient.fetchForecastData(52.52, 13.41));
+        assertThrows(UpstreamUnavailableException.class, () -> openMeteoClient.fetchForecastData(52.52, 13.41));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(restTemplate, times(2)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
+    }
+
+    @Test
+    void givenFullBulkheadWhenFetchForecastDataThenFailFastWithoutRecordingFailure() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("openmeteo", CircuitBreakerConfig.custom()
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("openmeteo", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        assertTrue(bulkhead.tryAcquirePermission());
+        openMeteoClient = new OpenMeteoClient(restTemplate, API_URL, circuitBreaker, bulkhead,
+                AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"), RequestHedger.disabled());
+
+        assertThrows(UpstreamUnavailableException.class, () -> openMeteoClient.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2))));
+
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void givenConcurrencyLimitReachedWhenFetchForecastDataThenShedWithoutCallingUpstream() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("openmeteo", 1, 1, 1, 0.2, Duration.ZERO);
+        limiter.tryAcquire().orElseThrow();
+        openMeteoClient = new OpenMeteoClient(restTemplate, API_URL, CircuitBreaker.ofDefaults("openmeteo"),
+                Bulkhead.ofDefaults("openmeteo"), limiter, RequestHedger.disabled());
+
+        UpstreamUnavailableException exception = assertThrows(UpstreamUnavailableException.class,
+                () -> openMeteoClient.fetchForecastData(52.52, 13.41));
+
+        assertEquals("Upstream API concurrency limit reached", exception.getMessage());
+        assertEquals(1, limiter.getRejected());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void givenUpstreamFailureWhenFetchForecastDataThenReleasePermitAndBackOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("openmeteo", 10, 2, 20, 0.2, Duration.ZERO);
+        openMeteoClient = new OpenMeteoClient(restTemplate, API_URL, CircuitBreaker.ofDefaults("openmeteo"),
+                Bulkhead.ofDefaults("openmeteo"), limiter, RequestHedger.disabled());
+        when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThrows(UpstreamApiException.class, () -> openMeteoClient.fetchForecastData(52.52, 13.41));
+
+        assertEquals(0, limiter.getInflight());
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void givenSlowFirstResponseWhenFetchForecastDataThenReturnHedgedResponse() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            openMeteoClient = new OpenMeteoClient(restTemplate, API_URL, CircuitBreaker.ofDefaults("openmeteo"),
+                    Bulkhead.ofDefaults("openmeteo"), AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"),
+                    new RequestHedger(executor, 0.95, Duration.ofMillis(20), Duration.ofMillis(20), 0.5));
+            OpenMeteoApiResponse hedgedResponse = createMockApiResponse();
+            when(restTemplate.getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class)))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(2000);
+                        return new OpenMeteoApiResponse();
+                    })
+                    .thenReturn(hedgedResponse);
+
+            assertSame(hedgedResponse, openMeteoClient.fetchForecastData(52.52, 13.41));
+            verify(restTemplate, times(2)).getForObject(eq(FORECAST_URI), eq(OpenMeteoApiResponse.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private OpenMeteoApiResponse createMockApiResponse() {
         OpenMeteoApiResponse response = new OpenMeteoApiResponse();
         response.setLatitude(52.52);
@@ -295,12 +457,12 @@ class OpenMeteoClientTest {
         response.setElevation(38.0);
 
         OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
-        hourly.setTemperature2m(Arrays.asList(15.0, 18.0, 22.0, 20.0, 16.0));
-        hourly.setRelativeHumidity2m(Arrays.asList(60, 65, 70, 68, 62));
-        hourly.setWindSpeed10m(Arrays.asList(10.5, 12.0, 15.5, 14.0, 11.0));
+        hourly.setTemperature2m(new double[]{15.0, 18.0, 22.0, 20.0, 16.0});
+        hourly.setRelativeHumidity2m(new int[]{60, 65, 70, 68, 62});
+        hourly.setWindSpeed10m(new double[]{10.5, 12.0, 15.5, 14.0, 11.0});
 
         response.setHourly(hourly);
 
         return response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveOpenMeteoClientTest {
+
+    private static final String API_URL = "https://api.open-meteo.com/v1/forecast?hourly=temperature_2m";
+
+    private static final String BERLIN_JSON = "{\"latitude\":52.52,\"longitude\":13.41,\"hourly\":{\"temperature_2m\":[1.5,3.0]}}";
+    private static final String PARIS_JSON = "{\"latitude\":48.86,\"longitude\":2.35,\"hourly\":{\"temperature_2m\":[7.0]}}";
+
+    private final List<URI> requestedUris = new CopyOnWriteArrayList<>();
+
+    @Test
+    void givenValidResponseWhenFetchForecastDataThenReturnIt() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.OK, BERLIN_JSON);
+
+        OpenMeteoApiResponse response = client.fetchForecastData(52.52, 13.41).block();
+
+        assertNotNull(response);
+        assertEquals(52.52, response.getLatitude());
+        assertArrayEquals(new double[]{1.5, 3.0}, response.getHourly().getTemperature2m());
+        assertEquals(List.of(URI.create(API_URL + "&latitude=52.52&longitude=13.41")), requestedUris);
+    }
+
+    @Test
+    void givenSeveralCellsWhenFetchForecastDataThenSendOneRequestAndReturnForecastsInOrder() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.OK, "[" + BERLIN_JSON + "," + PARIS_JSON + "]");
+
+        List<OpenMeteoApiResponse> responses = client.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2))).block();
+
+        assertNotNull(responses);
+        assertEquals(52.52, responses.get(0).getLatitude());
+        assertEquals(48.86, responses.get(1).getLatitude());
+        assertEquals(List.of(URI.create(API_URL + "&latitude=52.52,48.86&longitude=13.41,2.35")), requestedUris);
+    }
+
+    @Test
+    void givenForecastCountMismatchWhenFetchSeveralCellsThenFailWithUpstreamApiException() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.OK, "[" + BERLIN_JSON + "]");
+
+        Mono<List<OpenMeteoApiResponse>> responses = client.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2)));
+
+        assertThrows(UpstreamApiException.class, responses::block);
+    }
+
+    @Test
+    void givenServerErrorWhenFetchForecastDataThenFailWithUpstreamApiException() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+
+        UpstreamApiException exception = assertThrows(UpstreamApiException.class,
+                () -> client.fetchForecastData(52.52, 13.41).block());
+        assertEquals("Connection to the upstream is unreachable", exception.getMessage());
+    }
+
+    @Test
+    void givenMalformedBodyWhenFetchForecastDataThenFailWithUpstreamApiException() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.OK, "{\"hourly\":");
+
+        assertThrows(UpstreamApiException.class, () -> client.fetchForecastData(52.52, 13.41).block());
+    }
+
+    @Test
+    void givenEmptyBodyWhenFetchForecastDataThenFailWithUpstreamApiException() {
+        ReactiveOpenMeteoClient client = clientAnswering(HttpStatus.OK, "");
+
+        assertThrows(UpstreamApiException.class, () -> client.fetchForecastData(52.52, 13.41).block());
+    }
+
+    @Test
+    void givenConnectionFailureWhenFetchForecastDataThenFailWithUpstreamApiException() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.error(new WebClientRequestException(
+                        new IOException("Connection refused"), request.method(), request.url(), request.headers())))
+                .build();
+        ReactiveOpenMeteoClient client = new ReactiveOpenMeteoClient(webClient, API_URL);
+
+        assertThrows(UpstreamApiException.class, () -> client.fetchForecastData(52.52, 13.41).block());
+    }
+
+    @Test
+    void givenOpenBreakerWhenFetchForecastDataThenFailFastWithoutRequest() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("openmeteo");
+        circuitBreaker.transitionToOpenState();
+        ReactiveOpenMeteoClient client = new ReactiveOpenMeteoClient(
+                webClientAnswering(HttpStatus.OK, BERLIN_JSON), API_URL, circuitBreaker,
+                Bulkhead.ofDefaults("openmeteo"), AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchForecastData(
+                List.of(GridCell.of(52.52, 13.41, 2), GridCell.of(48.86, 2.35, 2))).block());
+        assertTrue(requestedUris.isEmpty());
+    }
+
+    @Test
+    void givenServerErrorWhenFetchForecastDataThenRecordFailureOnBreaker() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("openmeteo");
+        ReactiveOpenMeteoClient client = new ReactiveOpenMeteoClient(
+                webClientAnswering(HttpStatus.SERVICE_UNAVAILABLE, ""), API_URL, circuitBreaker,
+                Bulkhead.ofDefaults("openmeteo"), AdaptiveConcurrencyLimiter.ofDefaults("openmeteo"));
+
+        assertThrows(UpstreamApiException.class, () -> client.fetchForecastData(52.52, 13.41).block());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void givenConcurrencyLimitReachedWhenFetchForecastDataThenShedWithoutRequest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("openmeteo", 1, 1, 1, 0.2, Duration.ofSeconds(5));
+        limiter.tryAcquire().orElseThrow();
+        ReactiveOpenMeteoClient client = new ReactiveOpenMeteoClient(
+                webClientAnswering(HttpStatus.OK, BERLIN_JSON), API_URL, CircuitBreaker.ofDefaults("openmeteo"),
+                Bulkhead.ofDefaults("openmeteo"), limiter);
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchForecastData(52.52, 13.41).block());
+        assertTrue(requestedUris.isEmpty());
+    }
+
+    @Test
+    void givenValidResponseWhenFetchForecastDataThenReleasePermit() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.ofDefaults("openmeteo");
+        ReactiveOpenMeteoClient client = new ReactiveOpenMeteoClient(
+                webClientAnswering(HttpStatus.OK, BERLIN_JSON), API_URL, CircuitBreaker.ofDefaults("openmeteo"),
+                Bulkhead.ofDefaults("openmeteo"), limiter);
+
+        client.fetchForecastData(52.52, 13.41).block();
+
+        assertEquals(0, limiter.getInflight());
+    }
+
+    private ReactiveOpenMeteoClient clientAnswering(HttpStatus status, String body) {
+        return new ReactiveOpenMeteoClient(webClientAnswering(status, body), API_URL);
+    }
+
+    private WebClient webClientAnswering(HttpStatus status, String body) {
+        return WebClient.builder()
+                .exchangeFunction((ClientRequest request) -> {
+                    requestedUris.add(request.url());
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+    }
+}
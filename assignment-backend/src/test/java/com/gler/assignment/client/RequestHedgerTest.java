@@ -0,0 +1,148 @@
+package com.gler.assignment.client;
+
+import com.gler.assignment.exceptions.UpstreamApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch releaseSlowCall = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowCall.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenFastCallWhenExecuteThenReturnWithoutHedging() {
+        RequestHedger hedger = createHedger(Duration.ofSeconds(5), 0.5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String response = hedger.execute(() -> "attempt-" + attempts.incrementAndGet());
+
+        assertEquals("attempt-1", response);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, meterRegistry.get("openmeteo.hedge.calls").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("openmeteo.hedge.requests").functionCounter().count());
+    }
+
+    @Test
+    void givenSlowCallWhenDelayElapsesThenReturnHedgedResponse() {
+        RequestHedger hedger = createHedger(Duration.ofMillis(20), 0.5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String response = hedger.execute(() -> attempts.incrementAndGet() == 1 ? slowCall("original") : "hedge");
+
+        assertEquals("hedge", response);
+        assertEquals(1.0, meterRegistry.get("openmeteo.hedge.requests").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("openmeteo.hedge.wins").functionCounter().count());
+    }
+
+    @Test
+    void givenFailedHedgeWhenOriginalSucceedsThenReturnOriginal() {
+        RequestHedger hedger = createHedger(Duration.ofMillis(20), 0.5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String response = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1)
+                return slowCallUntilHedged(attempts);
+            throw new UpstreamApiException("Connection to the upstream is unreachable");
+        });
+
+        assertEquals("original", response);
+        assertEquals(0.0, meterRegistry.get("openmeteo.hedge.wins").functionCounter().count());
+    }
+
+    @Test
+    void givenBothAttemptsFailWhenExecuteThenThrowUpstreamFailure() {
+        RequestHedger hedger = createHedger(Duration.ZERO, 0.5);
+
+        assertThrows(UpstreamApiException.class, () -> hedger.execute(() -> {
+            throw new UpstreamApiException("Connection to the upstream is unreachable");
+        }));
+    }
+
+    @Test
+    void givenExhaustedBudgetWhenDelayElapsesThenWaitForOriginal() {
+        RequestHedger hedger = createHedger(Duration.ofMillis(1), 0);
+
+        for (int i = 0; i < 11; i++)
+            assertEquals("slow", hedger.execute(() -> slowCallMillis(20)));
+
+        assertEquals(10.0, meterRegistry.get("openmeteo.hedge.requests").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("openmeteo.hedge.skipped").functionCounter().count());
+    }
+
+    @Test
+    void givenRecordedLatenciesWhenEnoughSamplesThenDelayTracksPercentile() {
+        RequestHedger hedger = new RequestHedger(executor, 0.5, Duration.ofSeconds(5), Duration.ZERO, 0);
+
+        for (int i = 0; i < 50; i++)
+            hedger.execute(() -> "fast");
+
+        assertTrue(hedger.getDelay().compareTo(Duration.ofSeconds(1)) < 0, "delay was " + hedger.getDelay());
+    }
+
+    @Test
+    void givenDisabledHedgerWhenExecuteThenRunOnCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        assertSame(caller, RequestHedger.disabled().execute(Thread::currentThread));
+    }
+
+    @Test
+    void givenInvalidSettingsWhenCreateHedgerThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RequestHedger(executor, 1, Duration.ZERO, Duration.ZERO, 0.05));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RequestHedger(executor, 0.95, Duration.ZERO, Duration.ZERO, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RequestHedger(executor, 0.95, Duration.ofMillis(-1), Duration.ZERO, 0.05));
+    }
+
+    private RequestHedger createHedger(Duration delay, double budgetRatio) {
+        RequestHedger hedger = new RequestHedger(executor, 0.95, delay, delay, budgetRatio);
+        hedger.bindTo(meterRegistry);
+        return hedger;
+    }
+
+    private String slowCall(String response) {
+        try {
+            releaseSlowCall.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return response;
+    }
+
+    private String slowCallUntilHedged(AtomicInteger attempts) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (attempts.get() < 2 && System.nanoTime() < deadline)
+            Thread.onSpinWait();
+        return slowCallMillis(20).replace("slow", "original");
+    }
+
+    private static String slowCallMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+}
@@ -0,0 +1,46 @@
+package com.gler.assignment.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ExecutorConfig.class);
+
+    @Test
+    void givenDefaultThreadingWhenContextStartsThenUseBoundedPlatformPool() {
+        contextRunner.withPropertyValues("openmeteo.fetch.pool-size=4").run(context -> {
+            Executor executor = context.getBean(ExecutorConfig.OPEN_METEO_EXECUTOR, Executor.class);
+            ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+            assertEquals(4, pool.getMaxPoolSize());
+            assertEquals("openmeteo-fetch-", pool.getThreadNamePrefix());
+        });
+    }
+
+    @Test
+    void givenDefaultThreadingWhenContextStartsThenUseUnqueuedHedgePool() {
+        contextRunner.withPropertyValues("openmeteo.hedge.pool-size=8").run(context -> {
+            Executor executor = context.getBean(ExecutorConfig.OPEN_METEO_HEDGE_EXECUTOR, Executor.class);
+            ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+            assertEquals(8, pool.getMaxPoolSize());
+            assertEquals(0, pool.getQueueCapacity());
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void givenVirtualThreadsEnabledWhenContextStartsThenUseVirtualThreadExecutor() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context ->
+                assertInstanceOf(VirtualThreadTaskExecutor.class,
+                        context.getBean(ExecutorConfig.OPEN_METEO_EXECUTOR, Executor.class)));
+    }
+}
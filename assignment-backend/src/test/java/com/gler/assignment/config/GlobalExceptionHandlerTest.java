@@ -0,0 +1,50 @@
+package com.gler.assignment.config;
+
+import com.gler.assignment.dto.ErrorResponse;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private static final String PATH = "/api/v1/forecasts/bulk";
+
+    @Test
+    void givenCompletionExceptionWhenErrorResponseOfThenMapItsCause() {
+        ErrorResponse unavailable = GlobalExceptionHandler.errorResponseOf(
+                new CompletionException(new UpstreamUnavailableException("Open-Meteo circuit breaker is open")), PATH);
+        ErrorResponse unreachable = GlobalExceptionHandler.errorResponseOf(
+                new CompletionException(new UpstreamApiException("Connection refused")), PATH);
+
+        assertEquals(503, unavailable.getStatus());
+        assertEquals("Upstream API Unavailable", unavailable.getError());
+        assertEquals(502, unreachable.getStatus());
+        assertEquals(PATH, unreachable.getPath());
+    }
+
+    @Test
+    void givenRejectedExecutionWhenErrorResponseOfThenReturn503() {
+        ErrorResponse error = GlobalExceptionHandler.errorResponseOf(
+                new CompletionException(new RejectedExecutionException("Pool is full")), PATH);
+
+        assertEquals(503, error.getStatus());
+        assertEquals("Server is overloaded, try again later", error.getMessage());
+    }
+
+    @Test
+    void givenIllegalArgumentAndUnexpectedExceptionWhenErrorResponseOfThenReturn400And500() {
+        ErrorResponse badRequest = GlobalExceptionHandler.errorResponseOf(
+                new IllegalArgumentException("Latitude must be between -90 and 90"), PATH);
+        ErrorResponse unexpected = GlobalExceptionHandler.errorResponseOf(new IllegalStateException("boom"), PATH);
+
+        assertEquals(400, badRequest.getStatus());
+        assertEquals("Latitude must be between -90 and 90", badRequest.getMessage());
+        assertEquals(500, unexpected.getStatus());
+        assertEquals("An unexpected error occurred", unexpected.getMessage());
+    }
+}
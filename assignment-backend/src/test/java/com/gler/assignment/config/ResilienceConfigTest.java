@@ -0,0 +1,65 @@
+package com.gler.assignment.config;
+
+import com.gler.assignment.client.AdaptiveConcurrencyLimiter;
+import com.gler.assignment.client.RequestHedger;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(
+                    MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+            .withUserConfiguration(ExecutorConfig.class, ResilienceConfig.class);
+
+    @Test
+    void givenPropertiesWhenContextStartsThenConfigureBreakerAndBulkhead() {
+        contextRunner.withPropertyValues(
+                "openmeteo.circuit-breaker.sliding-window-size=40",
+                "openmeteo.circuit-breaker.slow-call-duration=1s",
+                "openmeteo.bulkhead.max-concurrent-calls=5",
+                "openmeteo.concurrency.initial-limit=4",
+                "openmeteo.hedge.initial-delay=300ms").run(context -> {
+            CircuitBreaker circuitBreaker = context.getBean(CircuitBreaker.class);
+            assertEquals(40, circuitBreaker.getCircuitBreakerConfig().getSlidingWindowSize());
+            assertEquals(Duration.ofSeconds(1), circuitBreaker.getCircuitBreakerConfig().getSlowCallDurationThreshold());
+            assertEquals(5, context.getBean(Bulkhead.class).getBulkheadConfig().getMaxConcurrentCalls());
+            assertNotNull(context.getBean(MeterRegistry.class).find("resilience4j.circuitbreaker.state").gauge());
+            assertNotNull(context.getBean(MeterRegistry.class).find("resilience4j.bulkhead.available.concurrent.calls").gauge());
+            assertEquals(4, context.getBean(AdaptiveConcurrencyLimiter.class).getLimit());
+            assertEquals(4.0, context.getBean(MeterRegistry.class).get("openmeteo.concurrency.limit").gauge().value());
+            assertEquals(Duration.ofMillis(300), context.getBean(RequestHedger.class).getDelay());
+        });
+    }
+
+    @Test
+    void givenHedgingDisabledWhenContextStartsThenRunCallsOnCallerThread() {
+        contextRunner.withPropertyValues("openmeteo.hedge.enabled=false").run(context ->
+                assertSame(Thread.currentThread(), context.getBean(RequestHedger.class).execute(Thread::currentThread)));
+    }
+
+    @Test
+    void givenStateTransitionWhenBreakerOpensThenCountTransition() {
+        contextRunner.run(context -> {
+            context.getBean(CircuitBreaker.class).transitionToOpenState();
+
+            assertEquals(1.0, context.getBean(MeterRegistry.class).get(ResilienceConfig.TRANSITIONS_METRIC)
+                    .tag("from", "CLOSED")
+                    .tag("to", "OPEN")
+                    .counter().count());
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.gler.assignment.config;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateConfigTest {
+
+    private static final String BODY = "{\"latitude\":52.52}";
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+
+    private ClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] gzipped = gzip(BODY);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/forecast", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            acceptEncodings.add(String.valueOf(acceptEncoding));
+            boolean compress = acceptEncoding != null && acceptEncoding.contains("gzip");
+            byte[] body = compress ? gzipped : BODY.getBytes(StandardCharsets.UTF_8);
+            if (compress)
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+        if (requestFactory instanceof DisposableBean disposable)
+            disposable.destroy();
+    }
+
+    @Test
+    void givenApacheClientWhenRequestThenReusePooledConnectionAndExportPoolMetrics() {
+        RestTemplate restTemplate = restTemplate(HttpClientType.APACHE, true);
+
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, requestFactory);
+        assertEquals(BODY, restTemplate.getForObject(url(), String.class));
+        assertEquals(BODY, restTemplate.getForObject(url(), String.class));
+
+        assertTrue(acceptEncodings.get(0).contains("gzip"));
+        assertEquals(2, meterRegistry.get(RestTemplateConfig.ACQUIRE_METRIC).timer().count());
+        assertEquals(100.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+    }
+
+    @Test
+    void givenApacheClientWithoutCompressionWhenRequestThenDoNotAskForGzip() {
+        RestTemplate restTemplate = restTemplate(HttpClientType.APACHE, false);
+
+        assertEquals(BODY, restTemplate.getForObject(url(), String.class));
+        assertEquals("null", acceptEncodings.get(0));
+    }
+
+    @Test
+    void givenJdkClientWhenRequestThenDecompressGzipResponse() {
+        RestTemplate restTemplate = restTemplate(HttpClientType.JDK, true);
+
+        assertInstanceOf(JdkClientHttpRequestFactory.class, requestFactory);
+        assertEquals(BODY, restTemplate.getForObject(url(), String.class));
+        assertEquals("gzip", acceptEncodings.get(0));
+        assertTrue(meterRegistry.find(RestTemplateConfig.ACQUIRE_METRIC).timers().isEmpty());
+    }
+
+    @Test
+    void givenJdkClientWithoutCompressionWhenRequestThenDoNotAskForGzip() {
+        RestTemplate restTemplate = restTemplate(HttpClientType.JDK, false);
+
+        assertEquals(BODY, restTemplate.getForObject(url(), String.class));
+        assertEquals("null", acceptEncodings.get(0));
+    }
+
+    @Test
+    void givenJsonResponseWhenRequestThenRecordReadTimeAndDecodedSize() {
+        RestTemplate restTemplate = restTemplate(HttpClientType.APACHE, true);
+
+        OpenMeteoApiResponse response = restTemplate.getForObject(url(), OpenMeteoApiResponse.class);
+
+        assertNotNull(response);
+        assertEquals(52.52, response.getLatitude());
+        assertEquals(1, meterRegistry.get(RestTemplateConfig.READ_METRIC).timer().count());
+        assertEquals(BODY.length(), meterRegistry.get(RestTemplateConfig.SIZE_METRIC).summary().totalAmount());
+    }
+
+    private RestTemplate restTemplate(HttpClientType clientType, boolean compression) {
+        requestFactory = config.openMeteoRequestFactory(meterRegistry, clientType, Duration.ofSeconds(2),
+                Duration.ofSeconds(2), 100, 50, Duration.ofSeconds(30), true, compression);
+        return config.restTemplate(new RestTemplateBuilder(), requestFactory, meterRegistry, compression);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/forecast";
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
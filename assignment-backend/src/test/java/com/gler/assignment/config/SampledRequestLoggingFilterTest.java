@@ -0,0 +1,77 @@
+package com.gler.assignment.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledRequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SampledRequestLoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void givenFullSampleRateWhenRequestCompletesThenLogKeyValues() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(201);
+
+        new SampledRequestLoggingFilter(1.0).doFilter(
+                new MockHttpServletRequest("POST", "/api/v1/forecasts"), response, new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertTrue(event.getFormattedMessage().startsWith("POST /api/v1/forecasts -> 201 in "));
+        Map<String, Object> pairs = event.getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+        assertEquals("POST", pairs.get("http.method"));
+        assertEquals("/api/v1/forecasts", pairs.get("url.path"));
+        assertEquals(201, pairs.get("http.status"));
+        assertInstanceOf(Long.class, pairs.get("duration.ms"));
+    }
+
+    @Test
+    void givenZeroSampleRateWhenRequestCompletesThenLogNothing() throws Exception {
+        new SampledRequestLoggingFilter(0).doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/texts"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void givenAsyncRequestWhenFirstDispatchReturnsThenLogNothing() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/forecasts/reactive");
+        request.setAsyncSupported(true);
+
+        new SampledRequestLoggingFilter(1.0).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> req.startAsync());
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void givenOutOfRangeSampleRateWhenCreateFilterThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SampledRequestLoggingFilter(1.5));
+    }
+}
@@ -1,7 +1,11 @@
 package com.gler.assignment.controllers;
 
+import com.gler.assignment.dto.ForecastResponseDto;
 import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import com.gler.assignment.services.BulkForecastService;
 import com.gler.assignment.services.ForecastService;
+import com.gler.assignment.services.ReactiveForecastService;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.api.Test;
@@ -11,7 +15,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +42,12 @@ class ForecastControllerTest {
     @MockBean
     private ForecastService forecastService;
 
+    @MockBean
+    private BulkForecastService bulkForecastService;
+
+    @MockBean
+    private ReactiveForecastService reactiveForecastService;
+
     private static final String BASE_URL = "/api/v1/forecasts";
 
     @Test
@@ -54,6 +78,25 @@ class ForecastControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void givenOutOfRangeLatitudeWhenProcessForecastThenReturn400() throws Exception {
+        String json = """
+            {
+              "addTemprature": true,
+              "addHumidity": true,
+              "addWindSpeed": true,
+              "latitude": 91.0,
+              "longitude": 13.41
+            }
+            """;
+
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("latitude: latitude must be between -90 and 90"));
+    }
+
     @Test
     void givenExternalApiFailureWhenProcessForecastThenReturn502() throws Exception {
         when(forecastService.processForecast(Mockito.any()))
@@ -73,4 +116,145 @@ class ForecastControllerTest {
                 .andExpect(status().isBadGateway())
                 .andExpect(jsonPath("$.error").value("Upstream API Unreachable"));
     }
+
+    @Test
+    void givenOpenCircuitBreakerWhenProcessForecastThenReturn503() throws Exception {
+        when(forecastService.processForecast(Mockito.any()))
+                .thenThrow(new UpstreamUnavailableException("Upstream API is temporarily unavailable"));
+
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"addTemprature\": true, \"addHumidity\": true, \"addWindSpeed\": true}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Upstream API Unavailable"));
+    }
+
+    @Test
+    void givenValidRequestWhenProcessForecastReactiveThenReturn200() throws Exception {
+        when(reactiveForecastService.processForecast(Mockito.any()))
+                .thenReturn(Mono.just(ForecastResponseDto.builder().maxTemperature(21.5).build()));
+
+        String json = """
+            {
+              "addTemprature": true,
+              "addHumidity": false,
+              "addWindSpeed": false
+            }
+            """;
+
+        MvcResult result = mockMvc.perform(post(BASE_URL + "/reactive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxTemperature").value(21.5));
+    }
+
+    @Test
+    void givenExternalApiFailureWhenProcessForecastReactiveThenReturn502() throws Exception {
+        when(reactiveForecastService.processForecast(Mockito.any()))
+                .thenReturn(Mono.error(new UpstreamApiException("Connection to the upstream is unreachable")));
+
+        String json = """
+            {
+              "addTemprature": true,
+              "addHumidity": true,
+              "addWindSpeed": true
+            }
+            """;
+
+        MvcResult result = mockMvc.perform(post(BASE_URL + "/reactive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.error").value("Upstream API Unreachable"));
+    }
+
+    @Test
+    void givenSaturatedOffloadSchedulerWhenProcessForecastReactiveThenReturn503() throws Exception {
+        when(reactiveForecastService.processForecast(Mockito.any()))
+                .thenReturn(Mono.error(new RejectedExecutionException("Task capacity of bounded elastic scheduler reached")));
+
+        MvcResult result = mockMvc.perform(post(BASE_URL + "/reactive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"addTemprature\": true, \"addHumidity\": true, \"addWindSpeed\": true}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void givenMissingFieldWhenProcessForecastReactiveThenReturn400() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/reactive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"addTemprature\": true}"))
+                .andExpect(status().isBadRequest());
+        verify(reactiveForecastService, never()).processForecast(Mockito.any());
+    }
+
+    @Test
+    void givenBulkRequestWhenProcessForecastsThenStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"index\":1}\n{\"index\":0}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bulkForecastService).streamForecasts(anyList(), any(OutputStream.class));
+
+        String json = """
+            [
+              {"addTemprature": true, "addHumidity": false, "addWindSpeed": false},
+              {"addTemprature": true, "addHumidity": true, "addWindSpeed": true, "latitude": 48.85, "longitude": 2.35}
+            ]
+            """;
+
+        MvcResult result = mockMvc.perform(post(BASE_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"index\":1}\n{\"index\":0}\n"));
+    }
+
+    @Test
+    void givenBulkRequestWithInvalidEntryWhenProcessForecastsThenReturn400() throws Exception {
+        String json = """
+            [
+              {"addTemprature": true, "addHumidity": false, "addWindSpeed": false},
+              {"addTemprature": true, "addHumidity": true}
+            ]
+            """;
+
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("getForecasts.requests[1].addWindSpeed: addWindSpeed field is mandatory"));
+        verify(bulkForecastService, never()).streamForecasts(anyList(), any(OutputStream.class));
+    }
+
+    @Test
+    void givenOversizedBulkRequestWhenProcessForecastsThenReturn400() throws Exception {
+        doThrow(new IllegalArgumentException("Bulk forecast request must not contain more than 100 requests"))
+                .when(bulkForecastService).checkRequests(anyList());
+
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"addTemprature\": true, \"addHumidity\": true, \"addWindSpeed\": true}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bulk forecast request must not contain more than 100 requests"));
+    }
 }
@@ -1,16 +1,32 @@
 package com.gler.assignment.controllers;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.gler.assignment.dto.TextReplaceDto;
+import com.gler.assignment.dto.TextReplaceHistoryDto;
+import com.gler.assignment.dto.TextReplaceHistoryPageDto;
+import com.gler.assignment.services.BulkTextReplaceService;
+import com.gler.assignment.services.TextReplaceHistoryService;
 import com.gler.assignment.services.TextReplaceService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TextReplaceController.class)
@@ -22,6 +38,12 @@ class TextReplaceControllerTest {
     @MockBean
     private TextReplaceService textReplaceService;
 
+    @MockBean
+    private TextReplaceHistoryService textReplaceHistoryService;
+
+    @MockBean
+    private BulkTextReplaceService bulkTextReplaceService;
+
     private static final String BASE_URL = "/api/v1/texts";
 
     @Test
@@ -120,4 +142,101 @@ class TextReplaceControllerTest {
                 .andExpect(status().isBadRequest());
         verify(textReplaceService, never()).processTextReplacement(anyString());
     }
+
+    @Test
+    void givenNoCursorWhenGetHistoryThenReturnFirstPageWithDefaultLimit() throws Exception {
+        TextReplaceHistoryDto row = new TextReplaceHistoryDto(7L, "elephant", "*lephan$",
+                LocalDateTime.of(2025, 3, 1, 8, 0), LocalDateTime.of(2025, 3, 2, 9, 0), 12L);
+        when(textReplaceHistoryService.getHistory(null, 50)).thenReturn(TextReplaceHistoryPageDto.builder()
+                .items(List.of(row))
+                .nextCursor("abc")
+                .build());
+
+        mockMvc.perform(get(BASE_URL + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].replacedText").value("*lephan$"))
+                .andExpect(jsonPath("$.items[0].hitCount").value(12))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void givenInvalidCursorWhenGetHistoryThenReturnBadRequest() throws Exception {
+        when(textReplaceHistoryService.getHistory("bogus", 10))
+                .thenThrow(new IllegalArgumentException("Invalid history cursor"));
+
+        mockMvc.perform(get(BASE_URL + "/history").param("cursor", "bogus").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenNonNumericLimitWhenGetHistoryThenReturnBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/history").param("limit", "many"))
+                .andExpect(status().isBadRequest());
+        verify(textReplaceHistoryService, never()).getHistory(any(), anyInt());
+    }
+
+    @Test
+    void givenHistoryWhenExportHistoryThenStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(textReplaceHistoryService).exportHistory(any());
+
+        mockMvc.perform(get(BASE_URL + "/history/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void givenPlainTextBodyWhenReplaceTextsInBulkThenStreamLinesFromService() throws Exception {
+        doAnswer(invocation -> {
+            String firstLine = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8)
+                    .lines().findFirst().orElseThrow();
+            invocation.<OutputStream>getArgument(1).write(("{\"originalText\":\"" + firstLine + "\"}\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bulkTextReplaceService).replaceLines(any(), any());
+
+        mockMvc.perform(post(BASE_URL + "/replace/bulk").contentType(MediaType.TEXT_PLAIN).content("élan\nabc\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes("{\"originalText\":\"élan\"}\n".getBytes(StandardCharsets.UTF_8)));
+        verify(bulkTextReplaceService, never()).replaceJsonArray(any(), any());
+    }
+
+    @Test
+    void givenJsonArrayBodyWhenReplaceTextsInBulkThenStreamFromOpenedArray() throws Exception {
+        JsonParser texts = mock(JsonParser.class);
+        when(bulkTextReplaceService.openJsonArray(any())).thenReturn(texts);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"index\":0}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bulkTextReplaceService).replaceJsonArray(eq(texts), any());
+
+        mockMvc.perform(post(BASE_URL + "/replace/bulk").contentType(MediaType.APPLICATION_JSON).content("[\"abc\"]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"index\":0}\n"));
+        verify(texts).close();
+    }
+
+    @Test
+    void givenBodyThatIsNotAnArrayWhenReplaceTextsInBulkThenReturnBadRequest() throws Exception {
+        when(bulkTextReplaceService.openJsonArray(any()))
+                .thenThrow(new IllegalArgumentException("Bulk text request must be a JSON array of strings"));
+
+        mockMvc.perform(post(BASE_URL + "/replace/bulk").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bulk text request must be a JSON array of strings"));
+        verify(bulkTextReplaceService, never()).replaceJsonArray(any(), any());
+    }
+
+    @Test
+    void givenUnsupportedBodyWhenReplaceTextsInBulkThenReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/replace/bulk").contentType(MediaType.APPLICATION_XML).content("<a/>"))
+                .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(bulkTextReplaceService);
+    }
 }
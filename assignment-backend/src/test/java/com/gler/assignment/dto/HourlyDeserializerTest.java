@@ -0,0 +1,123 @@
+package com.gler.assignment.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HourlyDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenOpenMeteoPayloadWhenDeserializeThenFillPrimitiveArrays() throws Exception {
+        String json = """
+            {
+              "latitude": 52.52,
+              "longitude": 13.419998,
+              "utc_offset_seconds": 0,
+              "current": {"time": "2025-10-24T12:00", "interval": 900, "temperature_2m": 12.5},
+              "hourly_units": {"time": "iso8601", "temperature_2m": "°C"},
+              "hourly": {
+                "time": ["2025-10-24T00:00", "2025-10-24T01:00", "2025-10-24T02:00"],
+                "temperature_2m": [10.5, null, 12.25],
+                "relative_humidity_2m": [80, 82, null],
+                "wind_speed_10m": [5.0, 6.5, 7]
+              }
+            }
+            """;
+
+        OpenMeteoApiResponse response = objectMapper.readValue(json, OpenMeteoApiResponse.class);
+        OpenMeteoApiResponse.Hourly hourly = response.getHourly();
+
+        assertEquals(900, response.getCurrent().getInterval());
+        assertArrayEquals(new long[]{
+                epochSeconds("2025-10-24T00:00"),
+                epochSeconds("2025-10-24T01:00"),
+                epochSeconds("2025-10-24T02:00")}, hourly.getTime());
+        assertEquals(10.5, hourly.getTemperature2m()[0]);
+        assertTrue(Double.isNaN(hourly.getTemperature2m()[1]));
+        assertEquals(12.25, hourly.getTemperature2m()[2]);
+        assertArrayEquals(new int[]{80, 82, OpenMeteoApiResponse.Hourly.MISSING_INT}, hourly.getRelativeHumidity2m());
+        assertArrayEquals(new double[]{5.0, 6.5, 7.0}, hourly.getWindSpeed10m());
+    }
+
+    @Test
+    void givenUnrequestedSeriesWhenDeserializeThenSkipThem() throws Exception {
+        String json = """
+            {"hourly": {
+              "precipitation": [0.1, 0.2],
+              "soil": {"nested": [1, 2, {"deep": true}]},
+              "temperature_2m": [1.0, 2.0]
+            }}
+            """;
+
+        OpenMeteoApiResponse.Hourly hourly = objectMapper.readValue(json, OpenMeteoApiResponse.class).getHourly();
+
+        assertArrayEquals(new double[]{1.0, 2.0}, hourly.getTemperature2m());
+        assertNull(hourly.getTime());
+        assertNull(hourly.getRelativeHumidity2m());
+        assertNull(hourly.getWindSpeed10m());
+    }
+
+    @Test
+    void givenSeriesLongerThanInitialCapacityWhenDeserializeThenGrowArrays() throws Exception {
+        int hours = 16 * 24;
+        StringBuilder temperatures = new StringBuilder();
+        for (int i = 0; i < hours; i++)
+            temperatures.append(i == 0 ? "" : ",").append(i);
+        String json = "{\"hourly\":{\"temperature_2m\":[" + temperatures + "]}}";
+
+        double[] parsed = objectMapper.readValue(json, OpenMeteoApiResponse.class).getHourly().getTemperature2m();
+
+        assertEquals(hours, parsed.length);
+        assertEquals(hours - 1, parsed[hours - 1]);
+    }
+
+    @Test
+    void givenUnixTimeFormatWhenDeserializeThenKeepEpochSeconds() throws Exception {
+        String json = "{\"hourly\":{\"time\":[1761264000,1761267600]}}";
+
+        long[] time = objectMapper.readValue(json, OpenMeteoApiResponse.class).getHourly().getTime();
+
+        assertArrayEquals(new long[]{1761264000L, 1761267600L}, time);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1970-01-01T00:00", "2000-02-29T23:59", "2024-12-31T12:30:15", "2100-03-01T00:00"})
+    void givenIsoTimestampWhenDeserializeThenMatchJavaTimeEpochSeconds(String timestamp) throws Exception {
+        String json = "{\"hourly\":{\"time\":[\"" + timestamp + "\"]}}";
+
+        long[] time = objectMapper.readValue(json, OpenMeteoApiResponse.class).getHourly().getTime();
+
+        assertEquals(epochSeconds(timestamp), time[0]);
+    }
+
+    @Test
+    void givenNullSeriesWhenDeserializeThenLeaveFieldNull() throws Exception {
+        String json = "{\"hourly\":{\"temperature_2m\":null,\"relative_humidity_2m\":[]}}";
+
+        OpenMeteoApiResponse.Hourly hourly = objectMapper.readValue(json, OpenMeteoApiResponse.class).getHourly();
+
+        assertNull(hourly.getTemperature2m());
+        assertEquals(0, hourly.getRelativeHumidity2m().length);
+    }
+
+    @Test
+    void givenNonNumericSampleWhenDeserializeThenThrowMismatchedInputException() {
+        String json = "{\"hourly\":{\"temperature_2m\":[1.0, \"warm\"]}}";
+
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue(json, OpenMeteoApiResponse.class));
+    }
+
+    private long epochSeconds(String timestamp) {
+        return LocalDateTime.parse(timestamp).toEpochSecond(ZoneOffset.UTC);
+    }
+}
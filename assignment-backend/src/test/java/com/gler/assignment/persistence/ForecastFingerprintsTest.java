@@ -0,0 +1,74 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.ForecastEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastFingerprintsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ForecastFingerprints fingerprints = new ForecastFingerprints(1000, meterRegistry);
+
+    @Test
+    void givenSameValuesWhenMarkTwiceThenReportChangeOnlyOnce() {
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0)));
+        assertFalse(fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0)));
+        assertEquals(1.0, meterRegistry.get("forecast.writes.skipped").counter().count());
+    }
+
+    @Test
+    void givenDifferentValueOrKeyWhenMarkThenReportChange() {
+        fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0));
+
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY, 52.52, 22.0)));
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY, 48.86, 22.0)));
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY.plusDays(1), 52.52, 22.0)));
+    }
+
+    @Test
+    void givenNullValuesWhenMarkTwiceThenTreatThemAsEqual() {
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY, 52.52, null)));
+        assertFalse(fingerprints.markIfChanged(forecast(TODAY, 52.52, null)));
+    }
+
+    @Test
+    void givenForgottenValuesWhenMarkAgainThenReportChange() {
+        fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0));
+
+        fingerprints.forget(forecast(TODAY, 52.52, 21.0));
+
+        assertTrue(fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0)));
+    }
+
+    @Test
+    void givenNewerValuesWhenForgetOlderOnesThenKeepNewer() {
+        fingerprints.markIfChanged(forecast(TODAY, 52.52, 21.0));
+        fingerprints.markIfChanged(forecast(TODAY, 52.52, 22.0));
+
+        fingerprints.forget(forecast(TODAY, 52.52, 21.0));
+
+        assertFalse(fingerprints.markIfChanged(forecast(TODAY, 52.52, 22.0)));
+    }
+
+    @Test
+    void givenNonPositiveSizeWhenCreateThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ForecastFingerprints(0, meterRegistry));
+    }
+
+    private static ForecastEntity forecast(LocalDate date, double latitude, Double maxTemperature) {
+        return ForecastEntity.builder()
+                .forecastDate(date)
+                .latitude(latitude)
+                .longitude(13.41)
+                .maxTemperature(maxTemperature)
+                .maxHumidity(80.0)
+                .maxWindSpeed(5.0)
+                .build();
+    }
+}
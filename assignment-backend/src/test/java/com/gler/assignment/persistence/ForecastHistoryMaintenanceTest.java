@@ -0,0 +1,68 @@
+package com.gler.assignment.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForecastHistoryMaintenanceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-03-01T08:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenDateWhenRunMaintenanceThenCreateRollUpAndDropRelativeToCurrentMonth() {
+        ForecastHistoryMaintenance maintenance = new ForecastHistoryMaintenance(jdbcTemplate, 3, 12, CLOCK, null);
+
+        maintenance.runMaintenance();
+
+        verify(jdbcTemplate).queryForObject(ForecastHistoryMaintenance.CREATE_PARTITIONS, Integer.class,
+                LocalDate.of(2025, 3, 1), 4);
+        verify(jdbcTemplate).queryForObject(ForecastHistoryMaintenance.ROLLUP, Integer.class, LocalDate.of(2025, 2, 28));
+        verify(jdbcTemplate).queryForObject(ForecastHistoryMaintenance.ROLLUP, Integer.class, LocalDate.of(2025, 3, 1));
+        verify(jdbcTemplate).queryForObject(ForecastHistoryMaintenance.DROP_PARTITIONS, Integer.class,
+                LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void givenDatabaseFailureWhenRunMaintenanceThenSkipRemainingStepsWithoutThrowing() {
+        when(jdbcTemplate.queryForObject(eq(ForecastHistoryMaintenance.CREATE_PARTITIONS), eq(Integer.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        ForecastHistoryMaintenance maintenance = new ForecastHistoryMaintenance(jdbcTemplate, 3, 12, CLOCK, null);
+
+        assertDoesNotThrow(maintenance::runMaintenance);
+        verify(jdbcTemplate, never()).queryForObject(eq(ForecastHistoryMaintenance.DROP_PARTITIONS), eq(Integer.class), any());
+    }
+
+    @Test
+    void givenNoPartitionsAheadWhenCreateMaintenanceThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForecastHistoryMaintenance(jdbcTemplate, 0, 12, CLOCK, null));
+    }
+
+    @Test
+    void givenSchedulerWhenShutdownThenStopIt() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ForecastHistoryMaintenance maintenance = new ForecastHistoryMaintenance(jdbcTemplate, 3, 12, CLOCK, scheduler);
+
+        maintenance.shutdown();
+
+        verify(scheduler).shutdownNow();
+    }
+}
@@ -0,0 +1,91 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.ForecastEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForecastUpserterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ForecastUpserter upserter;
+
+    @Test
+    void givenBatchWhenAcceptThenUpsertAllRowsInOneStatementInKeyOrder() {
+        upserter.accept(List.of(forecast(52.52, 21.0), forecast(48.86, 18.0)));
+
+        verify(jdbcTemplate).update(
+                ForecastUpserter.INSERT_PREFIX
+                        + "(nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?), (nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?)"
+                        + ForecastUpserter.ON_CONFLICT,
+                Date.valueOf(TODAY), 48.86, 13.41, 18.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT),
+                Date.valueOf(TODAY), 52.52, 13.41, 21.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT));
+    }
+
+    @Test
+    void givenBatchSpanningDaysWhenAcceptThenOrderRowsByDateBeforeCell() {
+        upserter.accept(List.of(
+                forecast(TODAY.plusDays(1), 48.86, 18.0), forecast(TODAY, 52.52, 21.0), forecast(TODAY, 48.86, 19.0)));
+
+        verify(jdbcTemplate).update(
+                ForecastUpserter.INSERT_PREFIX
+                        + "(nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?), (nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?), "
+                        + "(nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?)"
+                        + ForecastUpserter.ON_CONFLICT,
+                Date.valueOf(TODAY), 48.86, 13.41, 19.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT),
+                Date.valueOf(TODAY), 52.52, 13.41, 21.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT),
+                Date.valueOf(TODAY.plusDays(1)), 48.86, 13.41, 18.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT));
+    }
+
+    @Test
+    void givenSameKeyTwiceInBatchWhenAcceptThenUpsertOnlyTheLastOne() {
+        upserter.accept(List.of(forecast(52.52, 21.0), forecast(52.52, 22.0)));
+
+        verify(jdbcTemplate).update(
+                ForecastUpserter.INSERT_PREFIX + "(nextval('forecasts_seq'), ?, ?, ?, ?, ?, ?, ?)" + ForecastUpserter.ON_CONFLICT,
+                Date.valueOf(TODAY), 52.52, 13.41, 22.0, 80.0, 5.0, Timestamp.valueOf(CREATED_AT));
+    }
+
+    @Test
+    void givenEmptyBatchWhenAcceptThenSkipDatabase() {
+        upserter.accept(List.of());
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private static ForecastEntity forecast(double latitude, double maxTemperature) {
+        return forecast(TODAY, latitude, maxTemperature);
+    }
+
+    private static ForecastEntity forecast(LocalDate forecastDate, double latitude, double maxTemperature) {
+        return ForecastEntity.builder()
+                .forecastDate(forecastDate)
+                .latitude(latitude)
+                .longitude(13.41)
+                .maxTemperature(maxTemperature)
+                .maxHumidity(80.0)
+                .maxWindSpeed(5.0)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.gler.assignment.persistence;
+
+import com.gler.assignment.entities.TextReplaceEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TextReplaceUpserterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TextReplaceUpserter upserter;
+
+    @Test
+    void givenRepeatedTextsWhenAcceptThenUpsertOneRowPerTextWithItsHits() {
+        AtomicReference<Object[]> args = captureArgs();
+
+        upserter.accept(List.of(
+                audit("elephant", T0.plusSeconds(1)),
+                audit("abc", T0),
+                audit("elephant", T0.plusSeconds(3)),
+                audit("elephant", T0)));
+
+        verify(jdbcTemplate).update(eq(TextReplaceUpserter.INSERT_PREFIX
+                + "(?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?)" + TextReplaceUpserter.ON_CONFLICT), any(Object[].class));
+        Object[] elephant = rowOf(args.get(), "elephant");
+        assertArrayEquals(TextReplaceEntity.hashOf("elephant"), (byte[]) elephant[1]);
+        assertEquals("*lephan$", elephant[2]);
+        assertEquals(Timestamp.valueOf(T0), elephant[3]);
+        assertEquals(Timestamp.valueOf(T0.plusSeconds(3)), elephant[4]);
+        assertEquals(3L, elephant[5]);
+        assertEquals(1L, rowOf(args.get(), "abc")[5]);
+    }
+
+    @Test
+    void givenDistinctTextsWhenAcceptThenWriteThemInHashOrder() {
+        AtomicReference<Object[]> args = captureArgs();
+
+        upserter.accept(List.of(audit("elephant", T0), audit("abc", T0), audit("giraffe", T0), audit("zebra", T0)));
+
+        Object[] written = args.get();
+        for (int row = 1; row < written.length / 6; row++)
+            assertTrue(Arrays.compareUnsigned((byte[]) written[row * 6 - 5], (byte[]) written[row * 6 + 1]) < 0);
+    }
+
+    @Test
+    void givenRowWithoutCreatedAtWhenAcceptThenStampCurrentTime() {
+        AtomicReference<Object[]> args = captureArgs();
+
+        upserter.accept(List.of(TextReplaceEntity.builder().originalText("abc").replacedText("*b$").build()));
+
+        assertInstanceOf(Timestamp.class, args.get()[3]);
+        assertEquals(args.get()[3], args.get()[4]);
+    }
+
+    @Test
+    void givenTextWhenHashOfThenReturnSha256OfUtf8Bytes() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HexFormat.of().formatHex(TextReplaceEntity.hashOf("abc")));
+        assertEquals(32, TextReplaceEntity.hashOf("é".repeat(1000)).length);
+    }
+
+    @Test
+    void givenEmptyBatchWhenAcceptThenSkipDatabase() {
+        upserter.accept(List.of());
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private AtomicReference<Object[]> captureArgs() {
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            args.set((Object[]) invocation.getRawArguments()[1]);
+            return 1;
+        });
+        return args;
+    }
+
+    private static Object[] rowOf(Object[] args, String originalText) {
+        for (int arg = 0; arg < args.length; arg += 6) {
+            if (originalText.equals(args[arg]))
+                return Arrays.copyOfRange(args, arg, arg + 6);
+        }
+        return fail("No row for " + originalText);
+    }
+
+    private static TextReplaceEntity audit(String text, LocalDateTime createdAt) {
+        return TextReplaceEntity.builder()
+                .originalText(text)
+                .replacedText("*" + text.substring(1, text.length() - 1) + "$")
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.gler.assignment.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private WriteBehindQueue<Integer> queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null)
+            queue.close();
+    }
+
+    @Test
+    void givenBatchSizeReachedWhenSubmitThenWriteOneBatchWithoutWaitingForInterval() throws Exception {
+        queue = createQueue(batches::add, 100, 3, Duration.ofHours(1));
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 1; i <= 3; i++)
+            acks.add(queue.submit(i));
+
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+        assertEquals(3.0, meterRegistry.get("writebehind.items.written").tag("queue", "test").counter().count());
+        assertEquals(1, meterRegistry.get("writebehind.write").tag("queue", "test").timer().count());
+    }
+
+    @Test
+    void givenPartialBatchWhenFlushIntervalElapsesThenWriteIt() throws Exception {
+        queue = createQueue(batches::add, 100, 50, Duration.ofMillis(20));
+
+        CompletableFuture<Void> first = queue.submit(1);
+        CompletableFuture<Void> second = queue.submit(2);
+
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isDone());
+        assertEquals(List.of(1, 2), batches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void givenFullQueueWhenSubmitThenCallerWritesItsOwnItem() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        queue = createQueue(batch -> {
+            if (batch.contains(1)) {
+                writerBlocked.countDown();
+                await(releaseWriter);
+            }
+            batches.add(batch);
+        }, 1, 1, Duration.ZERO);
+
+        queue.submit(1);
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        queue.submit(2);
+        CompletableFuture<Void> overflow = queue.submit(3);
+
+        assertTrue(overflow.isDone());
+        assertEquals(List.of(List.of(3)), batches);
+        assertEquals(1.0, meterRegistry.get("writebehind.caller.runs").tag("queue", "test").counter().count());
+        releaseWriter.countDown();
+    }
+
+    @Test
+    void givenQueuedItemsWhenCloseThenWriteThemBeforeReturning() {
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        queue = createQueue(batch -> {
+            await(releaseWriter);
+            batches.add(batch);
+        }, 100, 2, Duration.ofHours(1));
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 1; i <= 5; i++)
+            acks.add(queue.submit(i));
+        releaseWriter.countDown();
+        queue.close();
+
+        assertTrue(acks.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(List.of(1, 2, 3, 4, 5), batches.stream().flatMap(List::stream).sorted().toList());
+    }
+
+    @Test
+    void givenClosedQueueWhenSubmitThenWriteOnCallerThread() {
+        queue = createQueue(batches::add, 100, 10, Duration.ofHours(1));
+        queue.close();
+
+        CompletableFuture<Void> ack = queue.submit(7);
+
+        assertTrue(ack.isDone());
+        assertEquals(List.of(List.of(7)), batches);
+    }
+
+    @Test
+    void givenSubmitsRacingCloseWhenCloseThenCompleteEveryAck() throws Exception {
+        // A tiny queue keeps submitters blocked in offer(), so they get in right after the drains
+        // of close() free up space.
+        for (int round = 0; round < 5; round++) {
+            WriteBehindQueue<Integer> racing = new WriteBehindQueue<>("racing", batches::add, 2, 2, Duration.ZERO,
+                    Duration.ofSeconds(5), meterRegistry);
+            List<CompletableFuture<Void>> acks = new CopyOnWriteArrayList<>();
+            CountDownLatch started = new CountDownLatch(8);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 500; i++)
+                        acks.add(racing.submit(i));
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            await(started);
+            racing.close();
+            for (Thread submitter : submitters)
+                submitter.join(TimeUnit.SECONDS.toMillis(10));
+
+            assertEquals(4_000, acks.size());
+            assertTrue(acks.stream().allMatch(CompletableFuture::isDone), "round " + round);
+        }
+    }
+
+    @Test
+    void givenFailingSinkWhenBatchWrittenThenFailAcksAndKeepWriting() throws Exception {
+        queue = createQueue(batch -> {
+            if (batch.contains(1))
+                throw new IllegalStateException("database unavailable");
+            batches.add(batch);
+        }, 100, 1, Duration.ZERO);
+
+        CompletableFuture<Void> failed = queue.submit(1);
+        CompletableFuture<Void> written = queue.submit(2);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        written.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(2)), batches);
+        assertEquals(1.0, meterRegistry.get("writebehind.items.failed").tag("queue", "test").counter().count());
+    }
+
+    @Test
+    void givenInvalidSettingsWhenCreateQueueThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> createQueue(batches::add, 0, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> createQueue(batches::add, 1, 1, Duration.ofMillis(-1)));
+    }
+
+    private WriteBehindQueue<Integer> createQueue(Consumer<List<Integer>> sink, int capacity, int batchSize,
+                                                  Duration flushInterval) {
+        return new WriteBehindQueue<>("test", sink, capacity, batchSize, flushInterval, Duration.ZERO, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
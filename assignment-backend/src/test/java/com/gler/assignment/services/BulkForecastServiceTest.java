@@ -0,0 +1,154 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gler.assignment.dto.ForecastRequestDto;
+import com.gler.assignment.dto.ForecastResponseDto;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import com.gler.assignment.exceptions.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkForecastServiceTest {
+
+    @Mock
+    private ForecastService forecastService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private BulkForecastService bulkForecastService;
+
+    @BeforeEach
+    void setUp() {
+        bulkForecastService = new BulkForecastService(forecastService, objectMapper, 3, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkForecastService.shutdown();
+    }
+
+    @Test
+    void givenRequestsWhenStreamForecastsThenWriteOneLineInCompletionOrder() throws Exception {
+        ForecastRequestDto first = new ForecastRequestDto(true, false, false, null, null);
+        ForecastRequestDto second = new ForecastRequestDto(true, false, false, 48.85, 2.35);
+        CompletableFuture<ForecastResponseDto> slow = new CompletableFuture<>();
+        when(forecastService.processForecastAsync(eq(first), any())).thenReturn(slow);
+        when(forecastService.processForecastAsync(eq(second), any())).thenReturn(
+                CompletableFuture.completedFuture(ForecastResponseDto.builder().maxTemperature(21.0).build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                slow.complete(ForecastResponseDto.builder().maxTemperature(12.0).build());
+            }
+        };
+
+        List<JsonNode> lines = stream(List.of(first, second), out);
+
+        assertEquals(2, lines.size());
+        assertEquals(1, lines.get(0).get("index").asInt());
+        assertEquals(21.0, lines.get(0).get("forecast").get("maxTemperature").asDouble());
+        assertEquals(0, lines.get(1).get("index").asInt());
+        assertEquals(12.0, lines.get(1).get("forecast").get("maxTemperature").asDouble());
+        assertFalse(lines.get(0).has("error"));
+    }
+
+    @Test
+    void givenFailedEntriesWhenStreamForecastsThenWriteErrorLinesAndKeepOthers() throws Exception {
+        ForecastRequestDto upstreamDown = new ForecastRequestDto(true, false, false, 1.0, 1.0);
+        ForecastRequestDto invalid = new ForecastRequestDto(true, false, false, 2.0, null);
+        ForecastRequestDto valid = new ForecastRequestDto(true, false, false, null, null);
+        when(forecastService.processForecastAsync(eq(upstreamDown), any())).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new UpstreamApiException("Connection to the upstream is unreachable"))));
+        when(forecastService.processForecastAsync(eq(invalid), any())).thenReturn(CompletableFuture.failedFuture(
+                new IllegalArgumentException("latitude and longitude must be provided together")));
+        when(forecastService.processForecastAsync(eq(valid), any())).thenReturn(
+                CompletableFuture.completedFuture(ForecastResponseDto.builder().build()));
+
+        List<JsonNode> lines = new ArrayList<>(stream(List.of(upstreamDown, invalid, valid)));
+        lines.sort((left, right) -> Integer.compare(left.get("index").asInt(), right.get("index").asInt()));
+
+        assertEquals(502, lines.get(0).get("error").get("status").asInt());
+        assertEquals("Connection to the upstream is unreachable", lines.get(0).get("error").get("message").asText());
+        assertEquals(400, lines.get(1).get("error").get("status").asInt());
+        assertEquals("latitude and longitude must be provided together", lines.get(1).get("error").get("message").asText());
+        assertEquals("/api/v1/forecasts/bulk", lines.get(1).get("error").get("path").asText());
+        assertTrue(lines.get(2).has("forecast"));
+    }
+
+    @Test
+    void givenRejectedUpstreamCallWhenStreamForecastsThenWriteServiceUnavailable() throws Exception {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
+        when(forecastService.processForecastAsync(eq(request), any())).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new UpstreamUnavailableException("Upstream API is temporarily unavailable"))));
+
+        JsonNode line = stream(List.of(request)).get(0);
+
+        assertEquals(503, line.get("error").get("status").asInt());
+        assertEquals("Upstream API Unavailable", line.get("error").get("error").asText());
+    }
+
+    @Test
+    void givenUnexpectedFailureWhenStreamForecastsThenWriteInternalError() throws Exception {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
+        when(forecastService.processForecastAsync(eq(request), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        JsonNode line = stream(List.of(request)).get(0);
+
+        assertEquals(500, line.get("error").get("status").asInt());
+        assertEquals("An unexpected error occurred", line.get("error").get("message").asText());
+    }
+
+    @Test
+    void givenTooManyRequestsWhenCheckRequestsThenThrowIllegalArgumentException() {
+        List<ForecastRequestDto> requests = Collections.nCopies(4, new ForecastRequestDto(true, true, true, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> bulkForecastService.checkRequests(requests));
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkForecastService.streamForecasts(requests, new ByteArrayOutputStream()));
+        verifyNoInteractions(forecastService);
+    }
+
+    @Test
+    void givenEmptyRequestsWhenCheckRequestsThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bulkForecastService.checkRequests(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> bulkForecastService.checkRequests(null));
+    }
+
+    private List<JsonNode> stream(List<ForecastRequestDto> requests) throws Exception {
+        return stream(requests, new ByteArrayOutputStream());
+    }
+
+    private List<JsonNode> stream(List<ForecastRequestDto> requests, ByteArrayOutputStream out) throws Exception {
+        bulkForecastService.streamForecasts(requests, out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n"))
+            lines.add(objectMapper.readTree(line));
+        return lines;
+    }
+}
@@ -0,0 +1,214 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gler.assignment.entities.TextReplaceEntity;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import com.gler.assignment.persistence.WriteDurability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTextReplaceServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private WriteBehindQueue<TextReplaceEntity> auditQueue;
+
+    private BulkTextReplaceService service;
+
+    @BeforeEach
+    void setUp() {
+        TextReplaceService textReplaceService = new TextReplaceService(auditQueue, new SimpleMeterRegistry(),
+                WriteDurability.FIRE_AND_FORGET, Duration.ofSeconds(1), 100);
+        service = new BulkTextReplaceService(textReplaceService, objectMapper, 2);
+    }
+
+    @Test
+    void givenLinesWhenReplaceLinesThenWriteOneResultPerLineInOrder() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceLines("elephant\r\nab\na\nélan\n");
+
+        assertEquals(4, lines.size());
+        assertEquals("*lephan$", lines.get(0).get("replacedText").asText());
+        assertEquals(1, lines.get(1).get("index").asInt());
+        assertFalse(lines.get(1).has("replacedText"));
+        assertEquals(400, lines.get(2).get("error").get("status").asInt());
+        assertEquals("a", lines.get(2).get("originalText").asText());
+        assertEquals("*la$", lines.get(3).get("replacedText").asText());
+    }
+
+    @Test
+    void givenRepeatedTextsWhenReplaceLinesThenAuditEachChunkCollapsed() throws Exception {
+        acceptAudits();
+        replaceLines("abc\nabc\nabc\nxyz\nabc\n");
+
+        ArgumentCaptor<TextReplaceEntity> audits = ArgumentCaptor.forClass(TextReplaceEntity.class);
+        verify(auditQueue, times(4)).submit(audits.capture());
+        Map<String, Long> hits = audits.getAllValues().stream()
+                .collect(Collectors.groupingBy(TextReplaceEntity::getOriginalText,
+                        Collectors.summingLong(TextReplaceEntity::getHitCount)));
+        assertEquals(Map.of("abc", 4L, "xyz", 1L), hits);
+    }
+
+    @Test
+    void givenSupplementaryCharactersWhenReplaceLinesThenCountAndReplaceCodePoints() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceLines("\uD83D\uDE00abc\uD83C\uDF89\na\uD83D\uDE00\n\uD83D\uDE00\n");
+
+        assertEquals("*abc$", lines.get(0).get("replacedText").asText());
+        assertEquals("a\uD83D\uDE00", lines.get(1).get("originalText").asText());
+        assertFalse(lines.get(1).has("replacedText"));
+        assertFalse(lines.get(1).has("error"));
+        assertEquals("\uD83D\uDE00", lines.get(2).get("originalText").asText());
+        assertEquals("Text length must be at least 2 characters", lines.get(2).get("error").get("message").asText());
+    }
+
+    @Test
+    void givenMalformedUtf8LineWhenReplaceLinesThenDecodeWithReplacementCharacters() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceLines(new byte[]{'a', (byte) 0xC3, 'b', 'c', '\n'});
+
+        assertEquals("a\uFFFDbc", lines.get(0).get("originalText").asText());
+        assertEquals("*\uFFFDb$", lines.get(0).get("replacedText").asText());
+    }
+
+    @Test
+    void givenOverlongLineWhenReplaceLinesThenReportItAndContinue() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceLines("x".repeat(5000) + "\n" + "é".repeat(1001) + "\nabc\n");
+
+        assertEquals(3, lines.size());
+        assertFalse(lines.get(0).has("originalText"));
+        assertEquals(400, lines.get(0).get("error").get("status").asInt());
+        assertEquals(400, lines.get(1).get("error").get("status").asInt());
+        assertEquals("*b$", lines.get(2).get("replacedText").asText());
+    }
+
+    @Test
+    void givenJsonArrayWhenReplaceJsonArrayThenReportNonStringsAndContinue() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceJsonArray("[\"elephant\", 7, {\"a\": [1]}, \"abc\"]");
+
+        assertEquals(4, lines.size());
+        assertEquals("*lephan$", lines.get(0).get("replacedText").asText());
+        assertEquals("Bulk text entries must be strings", lines.get(1).get("error").get("message").asText());
+        assertEquals(2, lines.get(2).get("index").asInt());
+        assertEquals("*b$", lines.get(3).get("replacedText").asText());
+    }
+
+    @Test
+    void givenEscapedSupplementaryCharactersWhenReplaceJsonArrayThenCountAndReplaceCodePoints() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceJsonArray(
+                "[\"\\ud83d\\ude00abc\\ud83c\\udf89\", \"ab\", \"a\", \"a\\ud83d\\ude00\", \"\\ud83d\\ude00\"]");
+
+        assertEquals("*abc$", lines.get(0).get("replacedText").asText());
+        assertFalse(lines.get(1).has("replacedText"));
+        assertEquals("a", lines.get(2).get("originalText").asText());
+        assertEquals(400, lines.get(2).get("error").get("status").asInt());
+        assertFalse(lines.get(3).has("replacedText"));
+        assertFalse(lines.get(3).has("error"));
+        assertEquals(400, lines.get(4).get("error").get("status").asInt());
+        verify(auditQueue).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenMalformedJsonWhenReplaceJsonArrayThenEndWithErrorLine() throws Exception {
+        acceptAudits();
+        List<JsonNode> lines = replaceJsonArray("[\"elephant\", \"abc\" \"unterminated");
+
+        assertEquals(3, lines.size());
+        assertEquals("*b$", lines.get(1).get("replacedText").asText());
+        assertTrue(lines.get(2).get("error").get("message").asText().startsWith("Malformed JSON"));
+        verify(auditQueue, times(2)).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenMalformedStringContentsWhenReplaceJsonArrayThenEndWithErrorLine() throws Exception {
+        acceptAudits();
+        List<JsonNode> badEscape = replaceJsonArray("[\"elephant\", \"ab\\u12x4cd\", \"abc\"]");
+        List<JsonNode> badByte = replaceJsonArray(new byte[]{'[', '"', 'a', 'b', 'c', '"', ',', '"', 'a', (byte) 0xC3,
+                'b', 'c', '"', ']'});
+
+        assertEquals(2, badEscape.size());
+        assertEquals("*lephan$", badEscape.get(0).get("replacedText").asText());
+        assertEquals(1, badEscape.get(1).get("index").asInt());
+        assertTrue(badEscape.get(1).get("error").get("message").asText().startsWith("Malformed JSON"));
+        assertEquals(2, badByte.size());
+        assertTrue(badByte.get(1).get("error").get("message").asText().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void givenBodyThatIsNotAnArrayWhenOpenJsonArrayThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> open("{\"texts\": []}"));
+        assertThrows(IllegalArgumentException.class, () -> open(""));
+        assertThrows(IllegalArgumentException.class, () -> open("not json"));
+    }
+
+    @Test
+    void givenNonPositiveChunkSizeWhenCreateServiceThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkTextReplaceService(null, objectMapper, 0));
+    }
+
+    private void acceptAudits() {
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private List<JsonNode> replaceLines(String body) throws Exception {
+        return replaceLines(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> replaceLines(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.replaceLines(new ByteArrayInputStream(body), out);
+        return parse(out);
+    }
+
+    private List<JsonNode> replaceJsonArray(String body) throws Exception {
+        return replaceJsonArray(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> replaceJsonArray(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonParser texts = service.openJsonArray(new ByteArrayInputStream(body))) {
+            service.replaceJsonArray(texts, out);
+        }
+        return parse(out);
+    }
+
+    private JsonParser open(String body) throws Exception {
+        return service.openJsonArray(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream out) throws Exception {
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.isEmpty() || ndjson.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n"))
+            lines.add(objectMapper.readTree(line));
+        return lines;
+    }
+}
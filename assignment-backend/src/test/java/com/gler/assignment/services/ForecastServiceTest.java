@@ -1,24 +1,28 @@
 package com.gler.assignment.services;
 
-import com.gler.assignment.client.OpenMeteoClient;
+import com.gler.assignment.client.ForecastDataCache;
+import com.gler.assignment.client.ForecastSnapshot;
+import com.gler.assignment.client.GridCell;
 import com.gler.assignment.dto.ForecastRequestDto;
 import com.gler.assignment.dto.ForecastResponseDto;
 import com.gler.assignment.dto.OpenMeteoApiResponse;
 import com.gler.assignment.entities.ForecastEntity;
 import com.gler.assignment.exceptions.UpstreamApiException;
-import com.gler.assignment.repositories.ForecastRepository;
+import com.gler.assignment.persistence.ForecastFingerprints;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,23 +30,25 @@ import static org.mockito.Mockito.*;
 class ForecastServiceTest {
 
     @Mock
-    private OpenMeteoClient openMeteoClient;
+    private ForecastDataCache forecastDataCache;
 
     @Mock
-    private ForecastRepository forecastRepository;
+    private WriteBehindQueue<ForecastEntity> forecastWriteQueue;
 
-    @InjectMocks
     private ForecastService forecastService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(forecastWriteQueue.submit(any(ForecastEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+        forecastService = new ForecastService(forecastDataCache, forecastWriteQueue,
+                new ForecastFingerprints(1000, new SimpleMeterRegistry()), 52.52, 13.41);
     }
 
     private OpenMeteoApiResponse buildApiResponse(
-            List<Double> temperatures,
-            List<Integer> humidities,
-            List<Double> windSpeeds) {
+            double[] temperatures,
+            int[] humidities,
+            double[] windSpeeds) {
         OpenMeteoApiResponse apiResponse = new OpenMeteoApiResponse();
         OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
         hourly.setTemperature2m(temperatures);
@@ -52,42 +58,165 @@ class ForecastServiceTest {
         return apiResponse;
     }
 
+    private ForecastSnapshot snapshotOf(OpenMeteoApiResponse apiResponse) {
+        return new ForecastSnapshot(GridCell.of(52.52, 13.41, 2), apiResponse, Instant.now(), Duration.ofMinutes(15));
+    }
+
     @Test
     void givenValidRequestWhenProcessForecastThenReturnMaxValues() {
-        ForecastRequestDto request = new ForecastRequestDto(true, true, true);
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
         OpenMeteoApiResponse apiResponse = buildApiResponse(
-                Arrays.asList(10.5, 15.2, 20.3),
-                Arrays.asList(50, 65, 70),
-                Arrays.asList(5.0, 8.0, 12.0)
+                new double[]{10.5, 15.2, 20.3},
+                new int[]{50, 65, 70},
+                new double[]{5.0, 8.0, 12.0}
         );
-        when(openMeteoClient.fetchForecastData()).thenReturn(apiResponse);
-        when(forecastRepository.save(any(ForecastEntity.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenReturn(snapshotOf(apiResponse));
         ForecastResponseDto result = forecastService.processForecast(request);
         assertNotNull(result);
         assertEquals(20.3, result.getMaxTemperature());
         assertEquals(70.0, result.getMaxHumidity());
         assertEquals(12.0, result.getMaxWindSpeed());
+        assertFalse(result.getStale());
+    }
+
+    @Test
+    void givenPendingWriteWhenProcessForecastThenReturnWithoutWaitingForPersistence() {
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble()))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.0}, new int[]{40}, new double[]{3.0})));
+        when(forecastWriteQueue.submit(any(ForecastEntity.class))).thenReturn(new CompletableFuture<>());
+        ForecastResponseDto result = forecastService.processForecast(request);
+        assertEquals(9.0, result.getMaxTemperature());
+        verify(forecastWriteQueue).submit(argThat(entity ->
+                entity.getMaxTemperature() == 9.0 && entity.getMaxHumidity() == 40.0 && entity.getMaxWindSpeed() == 3.0));
+    }
+
+    @Test
+    void givenFlagsOffWhenProcessForecastThenStoreAllMaxValues() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble()))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.0}, new int[]{40}, new double[]{3.0})));
+        ForecastResponseDto result = forecastService.processForecast(request);
+        assertNull(result.getMaxHumidity());
+        verify(forecastWriteQueue).submit(argThat(entity ->
+                entity.getMaxTemperature() == 9.0 && entity.getMaxHumidity() == 40.0 && entity.getMaxWindSpeed() == 3.0));
+    }
+
+    @Test
+    void givenUnchangedForecastWhenProcessForecastAgainThenSubmitOnlyOnce() {
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble()))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.0}, new int[]{40}, new double[]{3.0})));
+        forecastService.processForecast(request);
+        forecastService.processForecast(new ForecastRequestDto(false, true, false, null, null));
+        verify(forecastWriteQueue, times(1)).submit(any(ForecastEntity.class));
+    }
+
+    @Test
+    void givenChangedForecastWhenProcessForecastAgainThenSubmitBoth() {
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble()))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.0}, new int[]{40}, new double[]{3.0})))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.5}, new int[]{40}, new double[]{3.0})));
+        forecastService.processForecast(request);
+        forecastService.processForecast(request);
+        verify(forecastWriteQueue, times(2)).submit(any(ForecastEntity.class));
+    }
+
+    @Test
+    void givenFailedWriteWhenProcessForecastAgainThenSubmitAgain() {
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble()))
+                .thenReturn(snapshotOf(buildApiResponse(new double[]{9.0}, new int[]{40}, new double[]{3.0})));
+        when(forecastWriteQueue.submit(any(ForecastEntity.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")));
+        forecastService.processForecast(request);
+        forecastService.processForecast(request);
+        verify(forecastWriteQueue, times(2)).submit(any(ForecastEntity.class));
+    }
+
+    @Test
+    void givenStaleSnapshotWhenProcessForecastThenReportDataAgeAndStaleFlag() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
+        Instant fetchedAt = Instant.now().minus(Duration.ofMinutes(20));
+        ForecastSnapshot snapshot = new ForecastSnapshot(GridCell.of(52.52, 13.41, 2),
+                buildApiResponse(new double[]{10.0, 12.0}, null, null), fetchedAt, Duration.ofMinutes(15));
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenReturn(snapshot);
+        ForecastResponseDto result = forecastService.processForecast(request);
+        assertEquals(fetchedAt, result.getDataFetchedAt());
+        assertTrue(result.getDataAgeSeconds() >= 1200);
+        assertTrue(result.getStale());
+        assertEquals(12.0, result.getMaxTemperature());
     }
 
     @Test
     void givenExternalApiFailureWhenProcessForecastThenThrowUpstreamApiException() {
-        ForecastRequestDto request = new ForecastRequestDto(true, true, true);
-        when(openMeteoClient.fetchForecastData()).thenThrow(new UpstreamApiException("Connection failed"));
+        ForecastRequestDto request = new ForecastRequestDto(true, true, true, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenThrow(new UpstreamApiException("Connection failed"));
         assertThrows(UpstreamApiException.class, () -> forecastService.processForecast(request));
     }
 
     @Test
     void givenAllParametersFalseWhenProcessForecastThenReturnEmptyResponse() {
-        ForecastRequestDto request = new ForecastRequestDto(false, false, false);
-        when(forecastRepository.save(any(ForecastEntity.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        ForecastRequestDto request = new ForecastRequestDto(false, false, false, null, null);
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenReturn(snapshotOf(new OpenMeteoApiResponse()));
         ForecastResponseDto result = forecastService.processForecast(request);
         assertNull(result.getMaxTemperature());
         assertNull(result.getMaxHumidity());
         assertNull(result.getMaxWindSpeed());
     }
 
+    @Test
+    void givenCoordinatesWhenProcessForecastThenUseThemAndReportGridCell() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, -33.8688, 151.2093);
+        ForecastSnapshot snapshot = new ForecastSnapshot(GridCell.of(-33.8688, 151.2093, 2),
+                buildApiResponse(new double[]{24.0}, null, null), Instant.now(), Duration.ofMinutes(15));
+        when(forecastDataCache.get(-33.8688, 151.2093)).thenReturn(snapshot);
+        ForecastResponseDto result = forecastService.processForecast(request);
+        assertEquals(-33.87, result.getLatitude());
+        assertEquals(151.21, result.getLongitude());
+        assertEquals(24.0, result.getMaxTemperature());
+        verify(forecastWriteQueue).submit(argThat(entity ->
+                entity.getLatitude() == -33.87 && entity.getLongitude() == 151.21));
+    }
+
+    @Test
+    void givenNoCoordinatesWhenProcessForecastThenUseDefaultLocation() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
+        when(forecastDataCache.get(52.52, 13.41)).thenReturn(snapshotOf(new OpenMeteoApiResponse()));
+        forecastService.processForecast(request);
+        verify(forecastDataCache).get(52.52, 13.41);
+    }
+
+    @Test
+    void givenOnlyLatitudeWhenProcessForecastThenThrowIllegalArgumentException() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, 48.85, null);
+        assertThrows(IllegalArgumentException.class, () -> forecastService.processForecast(request));
+        verifyNoInteractions(forecastDataCache);
+    }
+
+    @Test
+    void givenValidRequestWhenProcessForecastAsyncThenCompleteWithMaxValues() throws Exception {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, true, 48.85, 2.35);
+        OpenMeteoApiResponse apiResponse = buildApiResponse(new double[]{8.0, 11.5}, null, new double[]{4.0});
+        when(forecastDataCache.getAsync(48.85, 2.35))
+                .thenReturn(CompletableFuture.completedFuture(snapshotOf(apiResponse)));
+        ForecastResponseDto result = forecastService.processForecastAsync(request, Runnable::run).get();
+        assertEquals(11.5, result.getMaxTemperature());
+        assertNull(result.getMaxHumidity());
+        assertEquals(4.0, result.getMaxWindSpeed());
+        verify(forecastWriteQueue).submit(any(ForecastEntity.class));
+    }
+
+    @Test
+    void givenInvalidRequestWhenProcessForecastAsyncThenReturnFailedFuture() {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, 2.35);
+        CompletableFuture<ForecastResponseDto> result = forecastService.processForecastAsync(request, Runnable::run);
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        verifyNoInteractions(forecastDataCache);
+    }
+
     @Test
     void givenNullRequestWhenProcessForecastThenThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> forecastService.processForecast(null));
@@ -96,19 +225,17 @@ class ForecastServiceTest {
     @ParameterizedTest
     @ValueSource(strings = {"empty", "negative", "nulls"})
     void testTemperatureEdgeCases(String caseType) {
-        ForecastRequestDto request = new ForecastRequestDto(true, false, false);
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
         OpenMeteoApiResponse apiResponse;
 
         switch (caseType) {
-            case "empty" -> apiResponse = buildApiResponse(Collections.emptyList(), null, null);
-            case "negative" -> apiResponse = buildApiResponse(Arrays.asList(-10.5, -5.3, -7.8), null, null);
-            case "nulls" -> apiResponse = buildApiResponse(Arrays.asList(null, 10.0, 15.0, null), null, null);
+            case "empty" -> apiResponse = buildApiResponse(new double[0], null, null);
+            case "negative" -> apiResponse = buildApiResponse(new double[]{-10.5, -5.3, -7.8}, null, null);
+            case "nulls" -> apiResponse = buildApiResponse(new double[]{Double.NaN, 10.0, 15.0, Double.NaN}, null, null);
             default -> throw new IllegalArgumentException("Invalid test case");
         }
 
-        when(openMeteoClient.fetchForecastData()).thenReturn(apiResponse);
-        when(forecastRepository.save(any(ForecastEntity.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenReturn(snapshotOf(apiResponse));
         ForecastResponseDto result = forecastService.processForecast(request);
         switch (caseType) {
             case "empty" -> assertNull(result.getMaxTemperature());
@@ -119,12 +246,10 @@ class ForecastServiceTest {
 
     @ParameterizedTest
     @NullAndEmptySource
-    void givenNullOrEmptyTemperatureListThenReturnNullTemperature(List<Double> temperatures) {
-        ForecastRequestDto request = new ForecastRequestDto(true, false, false);
+    void givenNullOrEmptyTemperatureListThenReturnNullTemperature(double[] temperatures) {
+        ForecastRequestDto request = new ForecastRequestDto(true, false, false, null, null);
         OpenMeteoApiResponse apiResponse = buildApiResponse(temperatures, null, null);
-        when(openMeteoClient.fetchForecastData()).thenReturn(apiResponse);
-        when(forecastRepository.save(any(ForecastEntity.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(forecastDataCache.get(anyDouble(), anyDouble())).thenReturn(snapshotOf(apiResponse));
         ForecastResponseDto result = forecastService.processForecast(request);
         assertNull(result.getMaxTemperature());
     }
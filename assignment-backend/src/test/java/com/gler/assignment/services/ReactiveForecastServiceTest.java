@@ -0,0 +1,90 @@
+package com.gler.assignment.services;
+
+import com.gler.assignment.dto.ForecastRequestDto;
+import com.gler.assignment.dto.ForecastResponseDto;
+import com.gler.assignment.exceptions.UpstreamApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveForecastServiceTest {
+
+    @Mock
+    private ForecastService forecastService;
+
+    private final ForecastRequestDto request = new ForecastRequestDto(true, false, false, 48.85, 2.35);
+
+    private ReactiveForecastService reactiveForecastService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveForecastService = new ReactiveForecastService(forecastService, Schedulers.newSingle("offload-test"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveForecastService.shutdown();
+    }
+
+    @Test
+    void givenForecastWhenProcessForecastThenBuildItOnOffloadScheduler() {
+        when(forecastService.processForecastAsync(eq(request), any())).thenAnswer(invocation -> {
+            Executor executor = invocation.getArgument(1);
+            return CompletableFuture.supplyAsync(() -> {
+                assertTrue(Thread.currentThread().getName().startsWith("offload-test"));
+                return ForecastResponseDto.builder().maxTemperature(21.0).build();
+            }, executor);
+        });
+
+        ForecastResponseDto forecast = reactiveForecastService.processForecast(request).block();
+
+        assertNotNull(forecast);
+        assertEquals(21.0, forecast.getMaxTemperature());
+    }
+
+    @Test
+    void givenUpstreamFailureWhenProcessForecastThenEmitUnwrappedError() {
+        when(forecastService.processForecastAsync(eq(request), any())).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new UpstreamApiException("Connection to the upstream is unreachable"))));
+
+        Mono<ForecastResponseDto> forecast = reactiveForecastService.processForecast(request);
+
+        assertThrows(UpstreamApiException.class, forecast::block);
+    }
+
+    @Test
+    void givenOffloadSchedulerRejectingTasksWhenProcessForecastThenEmitRejectedExecutionException() {
+        when(forecastService.processForecastAsync(eq(request), any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(21.0).thenApplyAsync(
+                        temperature -> ForecastResponseDto.builder().maxTemperature(temperature).build(),
+                        invocation.<Executor>getArgument(1)));
+        reactiveForecastService.shutdown();
+
+        Mono<ForecastResponseDto> forecast = reactiveForecastService.processForecast(request);
+
+        assertThrows(RejectedExecutionException.class, forecast::block);
+    }
+
+    @Test
+    void givenNoSubscriberWhenProcessForecastThenDoNotStartLookup() {
+        reactiveForecastService.processForecast(request);
+
+        verifyNoInteractions(forecastService);
+    }
+}
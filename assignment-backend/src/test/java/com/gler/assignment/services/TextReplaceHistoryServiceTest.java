@@ -0,0 +1,97 @@
+package com.gler.assignment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gler.assignment.dto.TextReplaceHistoryDto;
+import com.gler.assignment.dto.TextReplaceHistoryPageDto;
+import com.gler.assignment.repositories.TextReplaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TextReplaceHistoryServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 8, 0, 0, 123_456_000);
+
+    @Mock
+    private TextReplaceRepository textReplaceRepository;
+
+    private TextReplaceHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        service = new TextReplaceHistoryService(textReplaceRepository, objectMapper, 100);
+    }
+
+    @Test
+    void givenFullPageWhenGetHistoryThenReturnCursorOfLastRow() {
+        when(textReplaceRepository.findHistory(Limit.of(2))).thenReturn(List.of(row(9), row(8)));
+
+        TextReplaceHistoryPageDto page = service.getHistory(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        TextReplaceHistoryDto position = TextReplaceHistoryService.decodeCursor(page.getNextCursor());
+        assertEquals(8L, position.getId());
+        assertEquals(CREATED_AT, position.getCreatedAt());
+    }
+
+    @Test
+    void givenCursorWhenGetHistoryThenSeekPastIt() {
+        String cursor = TextReplaceHistoryService.encodeCursor(row(8));
+        when(textReplaceRepository.findHistoryBefore(CREATED_AT, 8L, Limit.of(2))).thenReturn(List.of(row(7)));
+
+        TextReplaceHistoryPageDto page = service.getHistory(cursor, 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void givenMalformedCursorWhenGetHistoryThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory("not a cursor!", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory("bm8tc2VwYXJhdG9y", 10));
+        verifyNoInteractions(textReplaceRepository);
+    }
+
+    @Test
+    void givenLimitOutOfRangeWhenGetHistoryThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory(null, 101));
+        verify(textReplaceRepository, never()).findHistory(any());
+    }
+
+    @Test
+    void givenRowsWhenExportHistoryThenWriteOneJsonLinePerRowAndCloseStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(textReplaceRepository.streamHistory())
+                .thenReturn(Stream.of(row(2), row(1)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportHistory(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":2,\"originalText\":\"text2\""));
+        assertTrue(closed.get());
+    }
+
+    private static TextReplaceHistoryDto row(long id) {
+        return new TextReplaceHistoryDto(id, "text" + id, "*ext" + id, CREATED_AT, CREATED_AT, 1L);
+    }
+}
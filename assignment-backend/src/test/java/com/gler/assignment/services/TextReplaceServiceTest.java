@@ -2,13 +2,21 @@ package com.gler.assignment.services;
 
 import com.gler.assignment.dto.TextReplaceDto;
 import com.gler.assignment.entities.TextReplaceEntity;
-import com.gler.assignment.repositories.TextReplaceRepository;
+import com.gler.assignment.exceptions.AuditWriteException;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import com.gler.assignment.persistence.WriteDurability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -17,25 +25,58 @@ import static org.mockito.Mockito.*;
 class TextReplaceServiceTest {
 
     @Mock
-    private TextReplaceRepository repository;
+    private WriteBehindQueue<TextReplaceEntity> auditQueue;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private TextReplaceService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new TextReplaceService(auditQueue, meterRegistry, WriteDurability.FIRE_AND_FORGET, Duration.ofSeconds(1), 100);
+    }
+
     @Test
     void givenValidWordWhenProcessTextReplacementThenReturnReplacedDto() {
         String input = "elephant";
-        TextReplaceEntity savedEntity = TextReplaceEntity.builder()
-                .id(1L)
-                .originalText(input)
-                .replacedText("*lephan$")
-                .build();
-        when(repository.save(any(TextReplaceEntity.class))).thenReturn(savedEntity);
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(new CompletableFuture<>());
         TextReplaceDto result = service.processTextReplacement(input);
         assertNotNull(result);
         assertEquals("elephant", result.getOriginalText());
         assertEquals("*lephan$", result.getReplacedText());
-        verify(repository, times(1)).save(any(TextReplaceEntity.class));
+        ArgumentCaptor<TextReplaceEntity> audit = ArgumentCaptor.forClass(TextReplaceEntity.class);
+        verify(auditQueue, times(1)).submit(audit.capture());
+        assertEquals("elephant", audit.getValue().getOriginalText());
+        assertEquals("*lephan$", audit.getValue().getReplacedText());
+        assertNotNull(audit.getValue().getCreatedAt());
+        assertEquals(8.0, meterRegistry.get("text.replace.length").summary().totalAmount());
+    }
+
+    @Test
+    void givenGroupCommitWhenAuditWrittenThenReturnReplacedDto() {
+        service = new TextReplaceService(auditQueue, meterRegistry, WriteDurability.GROUP_COMMIT, Duration.ofSeconds(1), 100);
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+        TextReplaceDto result = service.processTextReplacement("elephant");
+        assertEquals("*lephan$", result.getReplacedText());
+    }
+
+    @Test
+    void givenGroupCommitWhenAuditWriteFailsThenThrowAuditWriteException() {
+        service = new TextReplaceService(auditQueue, meterRegistry, WriteDurability.GROUP_COMMIT, Duration.ofSeconds(1), 100);
+        IllegalStateException cause = new IllegalStateException("database unavailable");
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.failedFuture(cause));
+        AuditWriteException exception = assertThrows(
+                AuditWriteException.class,
+                () -> service.processTextReplacement("elephant")
+        );
+        assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    void givenGroupCommitWhenAuditNotWrittenInTimeThenThrowAuditWriteException() {
+        service = new TextReplaceService(auditQueue, meterRegistry, WriteDurability.GROUP_COMMIT, Duration.ofMillis(10), 100);
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(new CompletableFuture<>());
+        assertThrows(AuditWriteException.class, () -> service.processTextReplacement("elephant"));
     }
 
     @Test
@@ -43,23 +84,50 @@ class TextReplaceServiceTest {
         String input = "ab";
         TextReplaceDto result = service.processTextReplacement(input);
         assertNull(result);
-        verify(repository, never()).save(any(TextReplaceEntity.class));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
     }
 
     @Test
     void givenThreeCharacterTextWhenProcessTextReplacementThenReplaceFirstAndLastCharacter() {
         String input = "abc";
-        when(repository.save(any(TextReplaceEntity.class))).thenReturn(new TextReplaceEntity());
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
         TextReplaceDto result = service.processTextReplacement(input);
         assertNotNull(result);
         assertEquals("abc", result.getOriginalText());
         assertEquals("*b$", result.getReplacedText());
     }
 
+    @Test
+    void givenSurrogatePairAtEndWhenProcessTextReplacementThenReplaceWholeCodePoint() {
+        String input = "ab\uD83D\uDE00";
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+        TextReplaceDto result = service.processTextReplacement(input);
+        assertNotNull(result);
+        assertEquals("*b$", result.getReplacedText());
+    }
+
+    @Test
+    void givenTwoCodePointsInThreeCharsWhenProcessTextReplacementThenReturnNullAndNotSave() {
+        assertNull(service.processTextReplacement("a\uD83D\uDE00"));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenSingleSurrogatePairWhenProcessTextReplacementThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> service.processTextReplacement("\uD83D\uDE00"));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenMaxLengthInCodePointsWhenReplaceThenAcceptTextOfTwiceAsManyChars() {
+        assertEquals(1998, service.replace("\uD83D\uDE00".repeat(1000)).length());
+        assertThrows(IllegalArgumentException.class, () -> service.replace("\uD83D\uDE00".repeat(1001)));
+    }
+
     @Test
     void givenTextWithSpecialCharactersWhenProcessTextReplacementThenReplaceFirstAndLastCharacter() {
         String input = "@#$%^&";
-        when(repository.save(any(TextReplaceEntity.class))).thenReturn(new TextReplaceEntity());
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
         TextReplaceDto result = service.processTextReplacement(input);
         assertNotNull(result);
         assertEquals("@#$%^&", result.getOriginalText());
@@ -69,7 +137,7 @@ class TextReplaceServiceTest {
     @Test
     void givenOnlyNumbersWhenProcessTextReplacementThenReplaceFirstAndLastCharacter() {
         String input = "12345";
-        when(repository.save(any(TextReplaceEntity.class))).thenReturn(new TextReplaceEntity());
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
         TextReplaceDto result = service.processTextReplacement(input);
         assertNotNull(result);
         assertEquals("12345", result.getOriginalText());
@@ -84,7 +152,7 @@ class TextReplaceServiceTest {
                 () -> service.processTextReplacement(input)
         );
         assertEquals("Text length must be at least 2 characters", exception.getMessage());
-        verify(repository, never()).save(any(TextReplaceEntity.class));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
     }
 
     @Test
@@ -95,7 +163,7 @@ class TextReplaceServiceTest {
                 () -> service.processTextReplacement(input)
         );
         assertEquals("Text length must be at least 2 characters", exception.getMessage());
-        verify(repository, never()).save(any(TextReplaceEntity.class));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
     }
 
     @Test
@@ -105,6 +173,52 @@ class TextReplaceServiceTest {
                 () -> service.processTextReplacement(null)
         );
         assertEquals("Text cannot be null", exception.getMessage());
-        verify(repository, never()).save(any(TextReplaceEntity.class));
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenRepeatedTextWhenProcessTextReplacementThenServeFromCacheAndAuditEachCall() {
+        when(auditQueue.submit(any(TextReplaceEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        service.processTextReplacement("elephant");
+        TextReplaceDto result = service.processTextReplacement("elephant");
+
+        assertEquals("*lephan$", result.getReplacedText());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TextReplaceService.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        verify(auditQueue, times(2)).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenNonPositiveCacheSizeWhenCreateServiceThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TextReplaceService(
+                auditQueue, meterRegistry, WriteDurability.FIRE_AND_FORGET, Duration.ofSeconds(1), 0));
+    }
+
+    @Test
+    void givenTextLongerThanColumnWhenReplaceThenThrowIllegalArgumentException() {
+        assertEquals("*" + "a".repeat(998) + "$", service.replace("a".repeat(1000)));
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> service.replace("a".repeat(1001))
+        );
+        assertEquals("Text length must be at most 1000 characters", exception.getMessage());
+        verify(auditQueue, never()).submit(any(TextReplaceEntity.class));
+    }
+
+    @Test
+    void givenGroupCommitWhenAuditCollectedRowsThenSubmitAllAndWaitForThem() {
+        service = new TextReplaceService(auditQueue, meterRegistry, WriteDurability.GROUP_COMMIT, Duration.ofMillis(10), 100);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(auditQueue.submit(any(TextReplaceEntity.class)))
+                .thenReturn(CompletableFuture.completedFuture(null), pending);
+        List<TextReplaceEntity> rows = List.of(
+                TextReplaceEntity.builder().originalText("abc").replacedText("*b$").hitCount(3L).build(),
+                TextReplaceEntity.builder().originalText("xyz").replacedText("*y$").hitCount(1L).build());
+
+        assertThrows(AuditWriteException.class, () -> service.audit(rows));
+        verify(auditQueue, times(2)).submit(any(TextReplaceEntity.class));
+        pending.complete(null);
+        assertDoesNotThrow(() -> service.audit(List.of()));
     }
 }
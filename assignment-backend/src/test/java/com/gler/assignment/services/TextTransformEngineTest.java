@@ -0,0 +1,127 @@
+package com.gler.assignment.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextTransformEngineTest {
+
+    private static final String GRINNING = "😀";
+
+    @Test
+    void givenTextWhenReplaceThenMarkFirstAndLastCharacter() {
+        assertEquals("*lephan$", TextTransformEngine.replace("elephant"));
+        assertEquals("*$", TextTransformEngine.replace("ab"));
+    }
+
+    @Test
+    void givenSurrogatePairsAtEndsWhenReplaceThenReplaceWholeCodePoints() {
+        assertEquals("*abc$", TextTransformEngine.replace(GRINNING + "abc" + GRINNING));
+        assertEquals("*$", TextTransformEngine.replace("a" + GRINNING));
+        assertEquals("*$", TextTransformEngine.replace(GRINNING + GRINNING));
+    }
+
+    @Test
+    void givenUnpairedSurrogatesWhenReplaceThenTreatEachAsCodePoint() {
+        assertEquals("*\uDE00$", TextTransformEngine.replace("\uDE00\uDE00a"));
+        assertEquals("*b$", TextTransformEngine.replace("\uD83Db\uD83D"));
+    }
+
+    @Test
+    void givenFewerThanTwoCodePointsWhenReplaceThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> TextTransformEngine.replace("a"));
+        assertThrows(IllegalArgumentException.class, () -> TextTransformEngine.replace(GRINNING));
+        assertThrows(IllegalArgumentException.class, () -> TextTransformEngine.replace(""));
+    }
+
+    @Test
+    void givenCharRangeWhenReplaceThenWriteToDestinationOffset() {
+        char[] src = ("xx" + GRINNING + "abc" + "yy").toCharArray();
+        char[] dst = new char[8];
+
+        int length = TextTransformEngine.replace(src, 2, 5, dst, 3);
+
+        assertEquals(4, length);
+        assertEquals("*ab$", new String(dst, 3, length));
+        assertEquals(0, dst[2]);
+    }
+
+    @Test
+    void givenSameArrayWhenReplaceCharsThenReplaceInPlace() {
+        char[] text = (GRINNING + "abc").toCharArray();
+
+        int length = TextTransformEngine.replace(text, 0, text.length, text, 0);
+
+        assertEquals("*ab$", new String(text, 0, length));
+    }
+
+    @Test
+    void givenMultiByteUtf8WhenReplaceUtf8ThenReplaceWholeSequences() {
+        assertEquals("*lan$", replaceUtf8("élanß"));
+        assertEquals("*x$", replaceUtf8("€x€"));
+        assertEquals("*abc$", replaceUtf8(GRINNING + "abc" + GRINNING));
+        assertEquals("*$", replaceUtf8("a" + GRINNING));
+        assertEquals("*$", replaceUtf8("ab"));
+    }
+
+    @Test
+    void givenMalformedUtf8WhenReplaceUtf8ThenTreatEachBadByteAsCodePoint() {
+        byte[] src = {(byte) 0xC3, 'a', 'b', (byte) 0xA9};
+        byte[] dst = new byte[4];
+
+        int length = TextTransformEngine.replaceUtf8(src, 0, src.length, dst, 0);
+
+        assertArrayEquals(new byte[]{'*', 'a', 'b', '$'}, Arrays.copyOf(dst, length));
+    }
+
+    @Test
+    void givenSameArrayWhenReplaceUtf8ThenReplaceInPlace() {
+        byte[] text = "éabcé".getBytes(StandardCharsets.UTF_8);
+
+        int length = TextTransformEngine.replaceUtf8(text, 0, text.length, text, 0);
+
+        assertEquals("*abc$", new String(text, 0, length, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenSingleCodePointWhenReplaceUtf8ThenThrowIllegalArgumentException() {
+        byte[] text = GRINNING.getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class,
+                () -> TextTransformEngine.replaceUtf8(text, 0, text.length, new byte[4], 0));
+    }
+
+    @Test
+    void givenWellFormedUtf8WhenCodePointCountThenCountSequences() {
+        assertEquals(0, codePointCount(""));
+        assertEquals(5, codePointCount("élanß"));
+        assertEquals(2, codePointCount("€" + GRINNING));
+        assertEquals(27, codePointCount("abcdefghijé" + GRINNING + "klmnopqrstuvwxy"));
+    }
+
+    @Test
+    void givenMalformedUtf8WhenCodePointCountThenReturnMinusOne() {
+        assertEquals(-1, codePointCount(new byte[]{'a', (byte) 0xC3}));
+        assertEquals(-1, codePointCount(new byte[]{(byte) 0xA9}));
+        assertEquals(-1, codePointCount(new byte[]{(byte) 0xC0, (byte) 0xAF}));
+        assertEquals(-1, codePointCount(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80}));
+        assertEquals(-1, codePointCount(new byte[]{(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}));
+    }
+
+    private static String replaceUtf8(String text) {
+        byte[] src = text.getBytes(StandardCharsets.UTF_8);
+        byte[] dst = new byte[src.length];
+        int length = TextTransformEngine.replaceUtf8(src, 0, src.length, dst, 0);
+        return new String(dst, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int codePointCount(String text) {
+        return codePointCount(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int codePointCount(byte[] text) {
+        return TextTransformEngine.codePointCount(text, 0, text.length);
+    }
+}
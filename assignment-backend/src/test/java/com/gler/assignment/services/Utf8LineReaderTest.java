@@ -0,0 +1,40 @@
+package com.gler.assignment.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8LineReaderTest {
+
+    @Test
+    void givenLinesSpanningBufferRefillsWhenNextThenReturnWholeLines() throws Exception {
+        assertEquals(List.of("elephant", "", "élan", "abc"), readLines("elephant\r\n\nélan\nabc\n", 3, 100));
+    }
+
+    @Test
+    void givenNoTrailingNewlineWhenNextThenReturnLastLine() throws Exception {
+        assertEquals(List.of("abc", "xyz"), readLines("abc\nxyz", 4, 100));
+        assertEquals(List.of(), readLines("", 4, 100));
+    }
+
+    @Test
+    void givenLineLongerThanLimitWhenNextThenReportOverlongAndContinue() throws Exception {
+        assertEquals(List.of("<overlong>", "abcd", "<overlong>"), readLines("abcdefgh\nabcd\r\nabcde", 3, 4));
+    }
+
+    private static List<String> readLines(String body, int bufferSize, int maxLineBytes) throws Exception {
+        Utf8LineReader reader = new Utf8LineReader(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), bufferSize, maxLineBytes);
+        List<String> lines = new ArrayList<>();
+        while (reader.next()) {
+            lines.add(reader.overlong() ? "<overlong>"
+                    : new String(reader.line(), 0, reader.length(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+}
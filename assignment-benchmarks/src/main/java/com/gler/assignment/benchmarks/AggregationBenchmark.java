@@ -0,0 +1,72 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.client.HourlyAggregates;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per-request {@code extract*} list scans with building {@link HourlyAggregates}
+ * once per fetch and with the O(1) per-request read of a precomputed snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"24", "168", "384"})
+    public int hours;
+
+    private OpenMeteoApiResponse.Hourly hourly;
+    private HourlyAggregates aggregates;
+    private List<Double> temperatures;
+    private List<Integer> humidities;
+    private List<Double> windSpeeds;
+
+    @Setup
+    public void setUp() {
+        hourly = Payloads.openMeteoResponse(hours).getHourly();
+        aggregates = HourlyAggregates.of(hourly);
+        temperatures = Arrays.stream(hourly.getTemperature2m()).boxed().toList();
+        humidities = Arrays.stream(hourly.getRelativeHumidity2m()).boxed().toList();
+        windSpeeds = Arrays.stream(hourly.getWindSpeed10m()).boxed().toList();
+    }
+
+    @Benchmark
+    public void legacyListScans(Blackhole blackhole) {
+        blackhole.consume(Collections.max(temperatures.stream().filter(Objects::nonNull).toList()));
+        blackhole.consume(Collections.max(humidities.stream().filter(Objects::nonNull).toList()).doubleValue());
+        blackhole.consume(Collections.max(windSpeeds.stream().filter(Objects::nonNull).toList()));
+    }
+
+    @Benchmark
+    public HourlyAggregates computeOncePerFetch() {
+        return HourlyAggregates.of(hourly);
+    }
+
+    @Benchmark
+    public void readPrecomputedPerRequest(Blackhole blackhole) {
+        blackhole.consume(aggregates.maxOrNull(HourlyAggregates.Series.TEMPERATURE_2M));
+        blackhole.consume(aggregates.maxOrNull(HourlyAggregates.Series.RELATIVE_HUMIDITY_2M));
+        blackhole.consume(aggregates.maxOrNull(HourlyAggregates.Series.WIND_SPEED_10M));
+    }
+}
@@ -0,0 +1,39 @@
+package com.gler.assignment.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the regular JMH command line and, unless told
+ * otherwise, adds the GC allocation profiler and writes JSON results to {@code jmh-result.json}
+ * so runs from different releases can be diffed.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty())
+            options.addProfiler(GCProfiler.class);
+        if (!commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue())
+            options.result(DEFAULT_RESULT_FILE);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gler.assignment.benchmarks;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses an Open-Meteo response with the primitive-array {@code HourlyDeserializer} and with the
+ * previous boxed List mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"24", "168", "384"})
+    public int hours;
+
+    private byte[] payload;
+    private ObjectReader primitiveReader;
+    private ObjectReader legacyReader;
+
+    @Setup
+    public void setUp() {
+        payload = Payloads.openMeteoJson(hours);
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+                .build();
+        primitiveReader = objectMapper.readerFor(OpenMeteoApiResponse.class);
+        legacyReader = objectMapper.readerFor(LegacyOpenMeteoApiResponse.class);
+    }
+
+    @Benchmark
+    public OpenMeteoApiResponse primitiveArrays() throws IOException {
+        return primitiveReader.readValue(payload);
+    }
+
+    @Benchmark
+    public LegacyOpenMeteoApiResponse boxedLists() throws IOException {
+        return legacyReader.readValue(payload);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.client.ForecastCacheMode;
+import com.gler.assignment.client.ForecastDataCache;
+import com.gler.assignment.client.ForecastFetchBatcher;
+import com.gler.assignment.dto.ForecastRequestDto;
+import com.gler.assignment.dto.ForecastResponseDto;
+import com.gler.assignment.entities.ForecastEntity;
+import com.gler.assignment.persistence.ForecastFingerprints;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import com.gler.assignment.services.ForecastService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link ForecastService#processForecast} against a warm cache, with the upstream and
+ * the store stubbed out. The forecast does not change between calls, so after the first one the
+ * request path only pays for the fingerprint check and never enqueues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastServiceBenchmark {
+
+    @Param({"24", "168", "384"})
+    public int hours;
+
+    private final ForecastRequestDto request = new ForecastRequestDto(true, true, true, 52.52, 13.41);
+
+    private ForecastService forecastService;
+
+    private WriteBehindQueue<ForecastEntity> forecastWriteQueue;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ForecastFetchBatcher fetchBatcher = new ForecastFetchBatcher(
+                Stubs.openMeteoClient(Payloads.openMeteoResponse(hours)), meterRegistry, 1, Duration.ZERO,
+                ForkJoinPool.commonPool());
+        ForecastDataCache forecastDataCache = new ForecastDataCache(
+                fetchBatcher,
+                meterRegistry,
+                Duration.ofHours(1),
+                ForecastCacheMode.EXPIRE,
+                Duration.ZERO,
+                0.8,
+                Duration.ofMinutes(1),
+                10_000,
+                2);
+        forecastWriteQueue = new WriteBehindQueue<>("forecasts", rows -> { },
+                10_000, 50, Duration.ofMillis(200), Duration.ofMillis(50), meterRegistry);
+        forecastService = new ForecastService(forecastDataCache, forecastWriteQueue,
+                new ForecastFingerprints(10_000, meterRegistry), 52.52, 13.41);
+        forecastService.processForecast(request);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forecastWriteQueue.close();
+    }
+
+    @Benchmark
+    public ForecastResponseDto processForecast() {
+        return forecastService.processForecast(request);
+    }
+}
@@ -0,0 +1,92 @@
+package com.gler.assignment.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * The boxed List-based mapping that OpenMeteoApiResponse used before the primitive-array
+ * deserializer, kept here as the baseline for the deserialization benchmark.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LegacyOpenMeteoApiResponse {
+
+    public Double latitude;
+    public Double longitude;
+
+    @JsonProperty("generationtime_ms")
+    public Double generationtimeMs;
+
+    @JsonProperty("utc_offset_seconds")
+    public Integer utcOffsetSeconds;
+
+    public String timezone;
+
+    @JsonProperty("timezone_abbreviation")
+    public String timezoneAbbreviation;
+
+    public Double elevation;
+
+    @JsonProperty("current_units")
+    public CurrentUnits currentUnits;
+
+    public Current current;
+
+    @JsonProperty("hourly_units")
+    public HourlyUnits hourlyUnits;
+
+    public Hourly hourly;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CurrentUnits {
+        public String time;
+        public String interval;
+
+        @JsonProperty("temperature_2m")
+        public String temperature2m;
+
+        @JsonProperty("wind_speed_10m")
+        public String windSpeed10m;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Current {
+        public String time;
+        public Integer interval;
+
+        @JsonProperty("temperature_2m")
+        public Double temperature2m;
+
+        @JsonProperty("wind_speed_10m")
+        public Double windSpeed10m;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class HourlyUnits {
+        public String time;
+
+        @JsonProperty("temperature_2m")
+        public String temperature2m;
+
+        @JsonProperty("relative_humidity_2m")
+        public String relativeHumidity2m;
+
+        @JsonProperty("wind_speed_10m")
+        public String windSpeed10m;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Hourly {
+        public List<String> time;
+
+        @JsonProperty("temperature_2m")
+        public List<Double> temperature2m;
+
+        @JsonProperty("relative_humidity_2m")
+        public List<Integer> relativeHumidity2m;
+
+        @JsonProperty("wind_speed_10m")
+        public List<Double> windSpeed10m;
+    }
+}
@@ -0,0 +1,129 @@
+package com.gler.assignment.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.gler.assignment.dto.ForecastRequestDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The logging done for one forecast request, written through a Boot-like console pattern into a
+ * discarding stream. {@code before} is the former INFO logging: the whole request object plus two
+ * lines per upstream call. {@code after} is the DEBUG logging that replaced it, plus the request
+ * log line sampled at 1%.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+    private static final double SAMPLE_RATE = 0.01;
+
+    public enum AppenderMode { SYNC, ASYNC, ASYNC_NEVER_BLOCK }
+
+    @Param({"SYNC", "ASYNC", "ASYNC_NEVER_BLOCK"})
+    public AppenderMode appender;
+
+    private LoggerContext context;
+    private Logger logger;
+    private ForecastRequestDto request;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        logger = context.getLogger("com.gler.assignment.services.ForecastService");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender == AppenderMode.SYNC ? console : async(console));
+
+        request = ForecastRequestDto.builder()
+                .addTemprature(true)
+                .addHumidity(true)
+                .addWindSpeed(false)
+                .latitude(52.52)
+                .longitude(13.41)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void before() {
+        logger.info("Processing forecast request: {}", request);
+        logger.info("Fetching forecast data from Open-Meteo API for {},{}", request.getLatitude(), request.getLongitude());
+        logger.info("Successfully fetched forecast data from Open-Meteo API");
+    }
+
+    @Benchmark
+    public void after() {
+        logger.debug("Processing forecast request for {},{}", request.getLatitude(), request.getLongitude());
+        logger.debug("Fetched forecast data from Open-Meteo API for {},{}", request.getLatitude(), request.getLongitude());
+        if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+            logger.atInfo()
+                    .setMessage("{} {} -> {} in {} ms")
+                    .addArgument("POST")
+                    .addArgument("/api/v1/forecasts")
+                    .addArgument(200)
+                    .addArgument(3L)
+                    .addKeyValue("http.method", "POST")
+                    .addKeyValue("url.path", "/api/v1/forecasts")
+                    .addKeyValue("http.status", 200)
+                    .addKeyValue("duration.ms", 3L)
+                    .log();
+        }
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> console) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(appender == AppenderMode.ASYNC_NEVER_BLOCK);
+        async.setIncludeCallerData(false);
+        async.addAppender(console);
+        async.start();
+        return async;
+    }
+}
@@ -0,0 +1,73 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic Open-Meteo payloads and texts shared by the benchmarks.
+ */
+final class Payloads {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 10, 24, 0, 0);
+
+    private Payloads() {
+    }
+
+    static byte[] openMeteoJson(int hours) {
+        SplittableRandom random = new SplittableRandom(hours);
+        StringBuilder json = new StringBuilder(hours * 64);
+        json.append("{\"latitude\":52.52,\"longitude\":13.419998,\"generationtime_ms\":0.08,")
+                .append("\"utc_offset_seconds\":0,\"timezone\":\"GMT\",\"timezone_abbreviation\":\"GMT\",")
+                .append("\"elevation\":38.0,")
+                .append("\"current_units\":{\"time\":\"iso8601\",\"interval\":\"seconds\",")
+                .append("\"temperature_2m\":\"°C\",\"wind_speed_10m\":\"km/h\"},")
+                .append("\"current\":{\"time\":\"2025-10-24T12:00\",\"interval\":900,")
+                .append("\"temperature_2m\":12.4,\"wind_speed_10m\":9.7},")
+                .append("\"hourly_units\":{\"time\":\"iso8601\",\"temperature_2m\":\"°C\",")
+                .append("\"relative_humidity_2m\":\"%\",\"wind_speed_10m\":\"km/h\"},")
+                .append("\"hourly\":{\"time\":[");
+        for (int i = 0; i < hours; i++)
+            json.append(i == 0 ? "\"" : ",\"").append(START.plusHours(i)).append('"');
+        json.append("],\"temperature_2m\":[");
+        for (int i = 0; i < hours; i++)
+            json.append(i == 0 ? "" : ",").append(Math.round(random.nextDouble(-10, 35) * 10) / 10.0);
+        json.append("],\"relative_humidity_2m\":[");
+        for (int i = 0; i < hours; i++)
+            json.append(i == 0 ? "" : ",").append(random.nextInt(20, 100));
+        json.append("],\"wind_speed_10m\":[");
+        for (int i = 0; i < hours; i++)
+            json.append(i == 0 ? "" : ",").append(Math.round(random.nextDouble(0, 60) * 10) / 10.0);
+        json.append("]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static OpenMeteoApiResponse openMeteoResponse(int hours) {
+        SplittableRandom random = new SplittableRandom(hours);
+        OpenMeteoApiResponse.Hourly hourly = new OpenMeteoApiResponse.Hourly();
+        double[] temperatures = new double[hours];
+        int[] humidities = new int[hours];
+        double[] windSpeeds = new double[hours];
+        for (int i = 0; i < hours; i++) {
+            temperatures[i] = random.nextDouble(-10, 35);
+            humidities[i] = random.nextInt(20, 100);
+            windSpeeds[i] = random.nextDouble(0, 60);
+        }
+        hourly.setTemperature2m(temperatures);
+        hourly.setRelativeHumidity2m(humidities);
+        hourly.setWindSpeed10m(windSpeeds);
+        OpenMeteoApiResponse response = new OpenMeteoApiResponse();
+        response.setHourly(hourly);
+        return response;
+    }
+
+    static String text(int length) {
+        SplittableRandom random = new SplittableRandom(length);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+            text.append((char) random.nextInt('a', 'z' + 1));
+        return text.toString();
+    }
+}
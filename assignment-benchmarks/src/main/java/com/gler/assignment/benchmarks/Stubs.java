@@ -0,0 +1,24 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.client.OpenMeteoClient;
+import com.gler.assignment.dto.OpenMeteoApiResponse;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * In-memory stand-in for the upstream client, so the benchmarks measure the service code rather
+ * than the network.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static OpenMeteoClient openMeteoClient(OpenMeteoApiResponse response) {
+        return new OpenMeteoClient(new RestTemplate(), "http://localhost/unused") {
+            @Override
+            public OpenMeteoApiResponse fetchForecastData(double latitude, double longitude) {
+                return response;
+            }
+        };
+    }
+}
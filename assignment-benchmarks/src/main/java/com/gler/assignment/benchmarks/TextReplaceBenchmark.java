@@ -0,0 +1,66 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.dto.TextReplaceDto;
+import com.gler.assignment.entities.TextReplaceEntity;
+import com.gler.assignment.persistence.WriteBehindQueue;
+import com.gler.assignment.persistence.WriteDurability;
+import com.gler.assignment.services.TextReplaceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TextReplaceService#processTextReplacement} with audit rows going through the real
+ * write-behind queue into a no-op sink. Under group commit each call waits for its batch to be
+ * flushed, so the result is dominated by the flush interval rather than the replacement itself.
+ * The text is the same on every call, so the replacement comes from the result cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextReplaceBenchmark {
+
+    @Param({"8", "100", "1000"})
+    public int length;
+
+    @Param({"FIRE_AND_FORGET", "GROUP_COMMIT"})
+    public WriteDurability durability;
+
+    private String text;
+    private TextReplaceService textReplaceService;
+    private WriteBehindQueue<TextReplaceEntity> auditQueue;
+
+    @Setup
+    public void setUp() {
+        text = Payloads.text(length);
+        auditQueue = new WriteBehindQueue<>("text-replacements", rows -> { },
+                10_000, 100, Duration.ofMillis(20), Duration.ofMillis(50), new SimpleMeterRegistry());
+        textReplaceService = new TextReplaceService(auditQueue, new SimpleMeterRegistry(), durability, Duration.ofSeconds(5), 10_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditQueue.close();
+    }
+
+    @Benchmark
+    public TextReplaceDto processTextReplacement() {
+        return textReplaceService.processTextReplacement(text);
+    }
+}
@@ -0,0 +1,78 @@
+package com.gler.assignment.benchmarks;
+
+import com.gler.assignment.services.TextTransformEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The replacement itself, without cache or audit: the former {@code StringBuilder} copy with two
+ * {@code setCharAt} calls vs. the {@link TextTransformEngine} forms over a {@link String}, a
+ * {@code char[]} and UTF-8 bytes. The buffer forms write into a reused output buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextTransformBenchmark {
+
+    @Param({"8", "100", "1000"})
+    public int length;
+
+    private String text;
+    private char[] chars;
+    private char[] charOutput;
+    private byte[] utf8;
+    private byte[] utf8Output;
+
+    @Setup
+    public void setUp() {
+        text = Payloads.text(length);
+        chars = text.toCharArray();
+        charOutput = new char[chars.length];
+        utf8 = text.getBytes(StandardCharsets.UTF_8);
+        utf8Output = new byte[utf8.length];
+    }
+
+    @Benchmark
+    public String legacyStringBuilder() {
+        StringBuilder sb = new StringBuilder(text);
+        sb.setCharAt(0, '*');
+        sb.setCharAt(text.length() - 1, '$');
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String engineString() {
+        return TextTransformEngine.replace(text);
+    }
+
+    @Benchmark
+    public int engineChars() {
+        return TextTransformEngine.replace(chars, 0, chars.length, charOutput, 0);
+    }
+
+    @Benchmark
+    public int engineUtf8() {
+        return TextTransformEngine.replaceUtf8(utf8, 0, utf8.length, utf8Output, 0);
+    }
+
+    @Benchmark
+    public int engineUtf8WithCount() {
+        return TextTransformEngine.codePointCount(utf8, 0, utf8.length)
+                + TextTransformEngine.replaceUtf8(utf8, 0, utf8.length, utf8Output, 0);
+    }
+}
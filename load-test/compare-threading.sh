@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Runs the same forecast load against the backend on platform thread pools, with the
+# virtual-threads profile, and through the reactive endpoint with the reactive profile, and prints
+# throughput, latency, the share of non-200 and 503 responses, live platform threads and RSS for
+# each. The bulkhead, the adaptive concurrency limit and the upstream connection pools are sized to
+# CONCURRENCY and hedging is off, so the runs compare threading models rather than load shedding.
+#
+# Needs a Java 21 JDK on PATH, k6, python3 and a reachable Postgres (DB_HOST, DB_PORT, DB_NAME,
+# DB_USER, DB_PASSWORD, e.g. `docker-compose up -d db`).
+#
+#   CONCURRENCY=1000 DURATION=60s UPSTREAM_DELAY_MS=200 load-test/compare-threading.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-500}
+DURATION=${DURATION:-30s}
+UPSTREAM_DELAY_MS=${UPSTREAM_DELAY_MS:-200}
+APP_PORT=${APP_PORT:-8080}
+STUB_PORT=${STUB_PORT:-8089}
+HEAP=${HEAP:-512m}
+OUT=load-test/results
+BASE_URL="http://localhost:$APP_PORT"
+
+mkdir -p "$OUT"
+mvn -B -q -pl assignment-backend -Pjava21 -DskipTests package
+JAR=$(ls assignment-backend/target/*-exec.jar)
+
+python3 load-test/upstream-stub.py "$STUB_PORT" "$UPSTREAM_DELAY_MS" &
+STUB_PID=$!
+APP_PID=
+trap 'kill $STUB_PID ${APP_PID:-} 2>/dev/null || true' EXIT
+
+metric() {
+    curl -s "$BASE_URL/actuator/metrics/$1" | python3 -c 'import json,sys; print(int(json.load(sys.stdin)["measurements"][0]["value"]))' 2>/dev/null || echo 0
+}
+
+run() {
+    local mode=$1 profiles=$2 path=$3
+    java -Xmx"$HEAP" -jar "$JAR" \
+        --spring.profiles.active="$profiles" \
+        --server.port="$APP_PORT" \
+        --openmeteo.api.url="http://localhost:$STUB_PORT/v1/forecast?current=temperature_2m,wind_speed_10m&hourly=temperature_2m,relative_humidity_2m,wind_speed_10m" \
+        --openmeteo.batch.window=0ms \
+        --openmeteo.bulkhead.max-concurrent-calls="$CONCURRENCY" \
+        --openmeteo.concurrency.initial-limit="$CONCURRENCY" \
+        --openmeteo.concurrency.min-limit="$CONCURRENCY" \
+        --openmeteo.concurrency.max-limit="$CONCURRENCY" \
+        --openmeteo.hedge.enabled=false \
+        --openmeteo.http.max-connections="$CONCURRENCY" \
+        --openmeteo.http.max-connections-per-route="$CONCURRENCY" \
+        --openmeteo.reactive.max-connections="$CONCURRENCY" \
+        > "$OUT/$mode-app.log" 2>&1 &
+    APP_PID=$!
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null; do sleep 1; done
+
+    local peak_threads=0 peak_rss=0 threads rss
+    (
+        while kill -0 "$APP_PID" 2>/dev/null; do
+            echo "$(metric jvm.threads.live) $(ps -o rss= -p "$APP_PID")"
+            sleep 1
+        done
+    ) > "$OUT/$mode-samples.txt" &
+    local sampler=$!
+
+    k6 run -q --vus "$CONCURRENCY" --duration "$DURATION" -e BASE_URL="$BASE_URL" -e FORECAST_PATH="$path" \
+        --summary-export "$OUT/$mode-summary.json" load-test/forecast.js > /dev/null
+
+    kill "$sampler" 2>/dev/null || true
+    while read -r threads rss; do
+        (( threads > peak_threads )) && peak_threads=$threads
+        (( rss > peak_rss )) && peak_rss=$rss
+    done < "$OUT/$mode-samples.txt"
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=
+
+    python3 - "$mode" "$OUT/$mode-summary.json" "$peak_threads" "$peak_rss" <<'PY'
+import json, sys
+mode, summary, threads, rss = sys.argv[1], sys.argv[2], int(sys.argv[3]), int(sys.argv[4])
+metrics = json.load(open(summary))["metrics"]
+duration = metrics["http_req_duration"]
+checks = metrics["checks"]
+non_ok = checks["fails"] / max(checks["passes"] + checks["fails"], 1)
+print(f'{mode:<16} {metrics["http_reqs"]["rate"]:>9.1f} {duration["med"]:>9.1f} {duration["p(95)"]:>9.1f} '
+      f'{non_ok * 100:>7.2f}% {metrics["shed"]["value"] * 100:>7.2f}% {threads:>9} {rss // 1024:>8}')
+PY
+}
+
+printf '%-16s %9s %9s %9s %8s %8s %9s %8s\n' mode req/s p50-ms p95-ms non-200 503 threads rss-mb
+run platform default /api/v1/forecasts
+run virtual virtual-threads /api/v1/forecasts
+run reactive reactive /api/v1/forecasts/reactive
@@ -0,0 +1,22 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+// Requests turned away by the bulkhead, the concurrency limit or the circuit breaker.
+const shed = new Rate('shed');
+
+// Random coordinates so nearly every request misses the forecast cache and waits on the upstream.
+export default function () {
+    const body = JSON.stringify({
+        addTemprature: true,
+        addHumidity: true,
+        addWindSpeed: true,
+        latitude: Math.round((Math.random() * 170 - 85) * 100) / 100,
+        longitude: Math.round((Math.random() * 350 - 175) * 100) / 100,
+    });
+    const response = http.post(`${__ENV.BASE_URL}${__ENV.FORECAST_PATH || '/api/v1/forecasts'}`, body, {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+    shed.add(response.status === 503);
+}
@@ -0,0 +1,55 @@
+#!/usr/bin/env python3
+"""Stand-in for the Open-Meteo forecast endpoint with a fixed response delay.
+
+Usage: upstream-stub.py [port] [delay_ms]
+"""
+import json
+import sys
+import time
+from datetime import datetime, timedelta
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from urllib.parse import parse_qs, urlparse
+
+PORT = int(sys.argv[1]) if len(sys.argv) > 1 else 8089
+DELAY = (int(sys.argv[2]) if len(sys.argv) > 2 else 200) / 1000.0
+HOURS = 168
+START = datetime(2025, 10, 24)
+
+
+def forecast(latitude, longitude):
+    return {
+        "latitude": float(latitude),
+        "longitude": float(longitude),
+        "hourly": {
+            "time": [(START + timedelta(hours=i)).strftime("%Y-%m-%dT%H:%M") for i in range(HOURS)],
+            "temperature_2m": [round(10 + (i % 24) * 0.5, 1) for i in range(HOURS)],
+            "relative_humidity_2m": [40 + i % 50 for i in range(HOURS)],
+            "wind_speed_10m": [round(5 + (i % 12) * 1.5, 1) for i in range(HOURS)],
+        },
+    }
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_GET(self):
+        query = parse_qs(urlparse(self.path).query)
+        latitudes = query.get("latitude", ["52.52"])[0].split(",")
+        longitudes = query.get("longitude", ["13.41"])[0].split(",")
+        locations = [forecast(lat, lon) for lat, lon in zip(latitudes, longitudes)]
+        body = json.dumps(locations[0] if len(locations) == 1 else locations).encode()
+        time.sleep(DELAY)
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def log_message(self, *args):
+        pass
+
+
+if __name__ == "__main__":
+    ThreadingHTTPServer.daemon_threads = True
+    ThreadingHTTPServer.request_queue_size = 4096
+    ThreadingHTTPServer(("127.0.0.1", PORT), Handler).serve_forever()